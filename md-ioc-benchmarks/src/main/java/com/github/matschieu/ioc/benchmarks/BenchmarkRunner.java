@@ -0,0 +1,30 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the JMH command line options, always adding the GC profiler so that the allocations per operation are reported.
+ *
+ * @author Matschieu
+ *
+ */
+public final class BenchmarkRunner {
+
+	/**
+	 *
+	 */
+	private BenchmarkRunner() {}
+
+	/**
+	 *
+	 * @param args the JMH command line options, e.g. a regexp of the benchmarks to run
+	 * @throws Exception
+	 */
+	public static void main(final String[] args) throws Exception {
+		new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import com.github.matschieu.ioc.core.Container;
+import com.github.matschieu.ioc.core.ContainerConfiguration;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+final class Benchmarks {
+
+	static final String BEANS_PACKAGE = "com.github.matschieu.ioc.benchmarks.beans";
+
+	/**
+	 *
+	 */
+	private Benchmarks() {}
+
+	/**
+	 * @return Container a container limited to the benchmark beans
+	 */
+	static Container createContainer() {
+		return Container.create(ContainerConfiguration.builder().basePackages(BEANS_PACKAGE).build());
+	}
+
+}
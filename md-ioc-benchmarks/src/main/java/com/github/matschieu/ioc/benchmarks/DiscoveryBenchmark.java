@@ -0,0 +1,102 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+import com.github.matschieu.ioc.core.Container;
+import com.github.matschieu.ioc.core.ContainerConfiguration;
+
+/**
+ * Compares the single pass scan of the classpath, done by the container when it starts, with the former discovery, scanning each package then the
+ * package of each interface found.
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiscoveryBenchmark {
+
+	@Param({ "10", "50" })
+	private int packages;
+
+	@Param({ "20" })
+	private int interfacesPerPackage;
+
+	@Param({ "2" })
+	private int implementationsPerInterface;
+
+	private SyntheticClasspath classpath;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		this.classpath = SyntheticClasspath.generate(this.packages, this.interfacesPerPackage, this.implementationsPerInterface);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		this.classpath.close();
+	}
+
+	/**
+	 *
+	 * @param packageName
+	 * @return Reflections
+	 */
+	private Reflections scanPackage(final String packageName) {
+		return new Reflections(new ConfigurationBuilder()
+				.forPackage(packageName, this.classpath.getClassLoader())
+				.addClassLoaders(this.classpath.getClassLoader())
+				.filterInputsBy(new FilterBuilder().includePackage(packageName))
+				.setScanners(Scanners.SubTypes.filterResultsBy(s -> true)));
+	}
+
+	@Benchmark
+	public Map<Class<?>, Class<?>> perInterfaceScan() {
+		final Map<Class<?>, Class<?>> applicationScope = new HashMap<>();
+
+		for (final String packageName : this.classpath.getPackageNames()) {
+			for (final Class<?> clazz : this.scanPackage(packageName).getSubTypesOf(Object.class)) {
+				if (clazz.isInterface()) {
+					this.scanPackage(clazz.getPackageName()).getSubTypesOf(clazz).forEach(impl -> applicationScope.put(impl, clazz));
+				}
+			}
+		}
+
+		return applicationScope;
+	}
+
+	@Benchmark
+	public Map<Class<?>, List<Class<?>>> singlePassScan() {
+		return Container.create(ContainerConfiguration.builder()
+				.classLoader(this.classpath.getClassLoader())
+				.basePackages(this.classpath.getPackageNames().toArray(String[]::new))
+				.build()).getApplicationScope();
+	}
+
+}
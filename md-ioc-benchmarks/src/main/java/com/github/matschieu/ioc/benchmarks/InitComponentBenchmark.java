@@ -0,0 +1,51 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.matschieu.ioc.benchmarks.beans.Controller;
+import com.github.matschieu.ioc.benchmarks.beans.FormatterClient;
+import com.github.matschieu.ioc.core.Container;
+
+/**
+ * Measures the injection of the members of objects created outside of the container.
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InitComponentBenchmark {
+
+	private Container container;
+
+	@Setup
+	public void setup() {
+		this.container = Benchmarks.createContainer();
+	}
+
+	@Benchmark
+	public Object dependencies() {
+		return this.container.initComponent(new Controller());
+	}
+
+	@Benchmark
+	public Object qualifiedFields() {
+		return this.container.initComponent(new FormatterClient());
+	}
+
+}
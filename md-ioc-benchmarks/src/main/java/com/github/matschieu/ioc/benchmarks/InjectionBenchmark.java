@@ -0,0 +1,51 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.matschieu.ioc.benchmarks.beans.Controller;
+import com.github.matschieu.ioc.benchmarks.beans.Service;
+import com.github.matschieu.ioc.core.Injector;
+
+/**
+ * Measures the injection of a bean through an interface and of a chain of dependent beans (controller -> service -> repository).
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionBenchmark {
+
+	private Injector injector;
+
+	@Setup
+	public void setup() {
+		this.injector = Benchmarks.createContainer().getInjector();
+	}
+
+	@Benchmark
+	public Service injectInterface() throws Exception {
+		return this.injector.inject(Service.class);
+	}
+
+	@Benchmark
+	public Controller injectDependencies() throws Exception {
+		return this.injector.inject(Controller.class);
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.matschieu.ioc.benchmarks.beans.DependentBean;
+import com.github.matschieu.ioc.core.Container;
+
+/**
+ * Compares the creation of a dependent bean by the container with the reflective path it replaced and with a plain new.
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationBenchmark {
+
+	private Container container;
+
+	@Setup
+	public void setup() {
+		this.container = Benchmarks.createContainer();
+	}
+
+	@Benchmark
+	public DependentBean newOperator() {
+		return new DependentBean();
+	}
+
+	@Benchmark
+	public DependentBean reflection() throws Exception {
+		return DependentBean.class.getDeclaredConstructor().newInstance();
+	}
+
+	@Benchmark
+	public DependentBean container() throws Exception {
+		return this.container.getObjectInstance(DependentBean.class);
+	}
+
+}
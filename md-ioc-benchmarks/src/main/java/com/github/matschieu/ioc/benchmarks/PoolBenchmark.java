@@ -0,0 +1,57 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.matschieu.ioc.benchmarks.beans.PooledBuffer;
+import com.github.matschieu.ioc.core.Container;
+
+/**
+ * Measures an injection of a pooled bean followed by its release, the steady state of a pool, alone and from several threads at once.
+ * Run with the GC profiler to check that it does not allocate.
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolBenchmark {
+
+	private Container container;
+
+	@Setup
+	public void setup() {
+		this.container = Benchmarks.createContainer();
+	}
+
+	@Benchmark
+	public PooledBuffer borrowAndRelease() throws Exception {
+		final PooledBuffer buffer = this.container.getObjectInstance(PooledBuffer.class);
+		this.container.release(buffer);
+		return buffer;
+	}
+
+	@Benchmark
+	@Threads(4)
+	public PooledBuffer concurrentBorrowAndRelease() throws Exception {
+		final PooledBuffer buffer = this.container.getObjectInstance(PooledBuffer.class);
+		this.container.release(buffer);
+		return buffer;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Named;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.matschieu.ioc.benchmarks.beans.Formatter;
+import com.github.matschieu.ioc.benchmarks.beans.FormatterClient;
+import com.github.matschieu.ioc.benchmarks.qualifiers.Fast;
+import com.github.matschieu.ioc.core.Injector;
+
+/**
+ * Measures the selection of one implementation among several ones, by name or by qualifier.
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QualifierResolutionBenchmark {
+
+	private static final Named UPPER = new Named() {
+		@Override
+		public Class<? extends Annotation> annotationType() {
+			return Named.class;
+		}
+
+		@Override
+		public String value() {
+			return "upper";
+		}
+	};
+
+	private static final Fast FAST = new Fast() {
+		@Override
+		public Class<? extends Annotation> annotationType() {
+			return Fast.class;
+		}
+	};
+
+	private Injector injector;
+
+	@Setup
+	public void setup() {
+		this.injector = Benchmarks.createContainer().getInjector();
+	}
+
+	@Benchmark
+	public Formatter named() throws Exception {
+		return this.injector.inject(Formatter.class, UPPER);
+	}
+
+	@Benchmark
+	public Formatter qualifier() throws Exception {
+		return this.injector.inject(Formatter.class, FAST);
+	}
+
+	@Benchmark
+	public FormatterClient qualifiedFields() throws Exception {
+		return this.injector.inject(FormatterClient.class);
+	}
+
+}
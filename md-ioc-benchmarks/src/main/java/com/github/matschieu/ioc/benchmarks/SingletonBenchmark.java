@@ -0,0 +1,58 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.matschieu.ioc.benchmarks.beans.SingletonService;
+import com.github.matschieu.ioc.core.Container;
+
+/**
+ * Measures the lookup of an already created singleton, alone and from several threads at once.
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonBenchmark {
+
+	private Container container;
+
+	@Setup
+	public void setup() throws Exception {
+		this.container = Benchmarks.createContainer();
+		this.container.getObjectInstance(SingletonService.class);
+	}
+
+	@Benchmark
+	public SingletonService lookup() throws Exception {
+		return this.container.getObjectInstance(SingletonService.class);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public SingletonService concurrentLookup() throws Exception {
+		return this.container.getObjectInstance(SingletonService.class);
+	}
+
+	@Benchmark
+	public SingletonService inject() throws Exception {
+		return this.container.getInjector().inject(SingletonService.class);
+	}
+
+}
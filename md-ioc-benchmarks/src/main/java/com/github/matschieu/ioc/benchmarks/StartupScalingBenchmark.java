@@ -0,0 +1,63 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.matschieu.ioc.core.Container;
+
+/**
+ * Measures the startup of a container (discovery of the beans) depending on the number of beans of the classpath.
+ * See {@link StartupScalingReport} for the retained heap.
+ *
+ * @author Matschieu
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class StartupScalingBenchmark {
+
+	@Param({ "100", "1000", "10000", "50000" })
+	private int beans;
+
+	@Param({ "true" })
+	private boolean qualifiers;
+
+	@Param({ "3" })
+	private int dependencyDepth;
+
+	private SyntheticClasspath classpath;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		this.classpath = StartupScalingReport.shape(this.beans).qualifiers(this.qualifiers).dependencyDepth(this.dependencyDepth).generate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		this.classpath.close();
+	}
+
+	@Benchmark
+	public Container startup() {
+		return StartupScalingReport.startContainer(this.classpath);
+	}
+
+}
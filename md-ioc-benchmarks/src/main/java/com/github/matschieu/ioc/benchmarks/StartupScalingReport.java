@@ -0,0 +1,139 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.github.matschieu.ioc.core.Container;
+import com.github.matschieu.ioc.core.ContainerConfiguration;
+
+/**
+ * Reports the startup time and the heap retained by a container for growing synthetic classpaths (100, 1k, 10k and 50k beans by default).
+ * The heap is measured as the difference of the used heap after a full GC before and after the startup of several containers, kept alive
+ * together, so it is an approximation.
+ *
+ * @author Matschieu
+ *
+ */
+public final class StartupScalingReport {
+
+	private static final int[] DEFAULT_SIZES = { 100, 1_000, 10_000, 50_000 };
+
+	private static final int INTERFACES_PER_PACKAGE = 50;
+
+	private static final int IMPLEMENTATIONS_PER_INTERFACE = 2;
+
+	private static final int WARMUP_ITERATIONS = 2;
+
+	private static final int MEASUREMENT_ITERATIONS = 5;
+
+	private static final int MAX_GC = 10;
+
+	/**
+	 *
+	 */
+	private StartupScalingReport() {}
+
+	/**
+	 * The graph of beans used for a given size: 50 interfaces per package, 2 implementations per interface
+	 *
+	 * @param beans
+	 * @return SyntheticClasspath.Builder
+	 */
+	static SyntheticClasspath.Builder shape(final int beans) {
+		final int beansPerPackage = INTERFACES_PER_PACKAGE * IMPLEMENTATIONS_PER_INTERFACE;
+		return SyntheticClasspath.builder()
+				.packages(Math.max(1, beans / beansPerPackage))
+				.interfacesPerPackage(Math.min(INTERFACES_PER_PACKAGE, Math.max(1, beans / IMPLEMENTATIONS_PER_INTERFACE)))
+				.implementationsPerInterface(IMPLEMENTATIONS_PER_INTERFACE);
+	}
+
+	/**
+	 *
+	 * @param classpath
+	 * @return Container
+	 */
+	static Container startContainer(final SyntheticClasspath classpath) {
+		return Container.create(ContainerConfiguration.builder()
+				.classLoader(classpath.getClassLoader())
+				.basePackages(classpath.getPackageNames().toArray(new String[0]))
+				.build());
+	}
+
+	/**
+	 *
+	 * @param memory
+	 * @return long
+	 * @throws InterruptedException
+	 */
+	private static long usedHeapAfterGc(final MemoryMXBean memory) throws InterruptedException {
+		long used = Long.MAX_VALUE;
+		int stable = 0;
+
+		// Several GCs are needed for the references cleared by the first ones (e.g. the objects of the terminated scan threads) to be released
+		for (int i = 0; i < MAX_GC; i++) {
+			Thread.sleep(100);
+			memory.gc();
+
+			final long previous = used;
+			used = memory.getHeapMemoryUsage().getUsed();
+
+			stable = used >= previous ? stable + 1 : 0;
+
+			if (stable == 2) {
+				break;
+			}
+		}
+
+		return used;
+	}
+
+	/**
+	 *
+	 * @param args the numbers of beans to generate, 100 1000 10000 50000 by default
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		final int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray() : DEFAULT_SIZES;
+		final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+		System.out.println(String.format("%10s %10s %15s %15s %15s", "beans", "interfaces", "startup (ms)", "best (ms)", "retained (KB)"));
+
+		for (final int size : sizes) {
+			final SyntheticClasspath.Builder shape = StartupScalingReport.shape(size).qualifiers(true).dependencyDepth(3);
+
+			try (SyntheticClasspath classpath = shape.generate()) {
+				for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+					StartupScalingReport.startContainer(classpath);
+				}
+
+				long total = 0;
+				long best = Long.MAX_VALUE;
+
+				for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+					final long start = System.nanoTime();
+					StartupScalingReport.startContainer(classpath);
+					final long elapsed = System.nanoTime() - start;
+					total += elapsed;
+					best = Math.min(best, elapsed);
+				}
+
+				final Container[] containers = new Container[MEASUREMENT_ITERATIONS];
+				final long before = StartupScalingReport.usedHeapAfterGc(memory);
+				for (int i = 0; i < containers.length; i++) {
+					containers[i] = StartupScalingReport.startContainer(classpath);
+				}
+				final long retained = (StartupScalingReport.usedHeapAfterGc(memory) - before) / containers.length;
+				Reference.reachabilityFence(containers);
+
+				System.out.println(String.format("%10d %10d %15d %15d %15d", shape.getBeanCount(), containers[0].getApplicationScope().size(),
+						TimeUnit.NANOSECONDS.toMillis(total / MEASUREMENT_ITERATIONS), TimeUnit.NANOSECONDS.toMillis(best), retained / 1024));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,267 @@
+package com.github.matschieu.ioc.benchmarks;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * A classpath directory of generated and compiled interfaces and implementations, loaded by its own class loader.
+ *
+ * @author Matschieu
+ *
+ */
+public final class SyntheticClasspath implements Closeable {
+
+	private final Path directory;
+
+	private final List<String> packageNames;
+
+	private final URLClassLoader classLoader;
+
+	/**
+	 *
+	 * @param directory
+	 * @param packageNames
+	 * @throws IOException
+	 */
+	private SyntheticClasspath(final Path directory, final List<String> packageNames) throws IOException {
+		this.directory = directory;
+		this.packageNames = List.copyOf(packageNames);
+		this.classLoader = new URLClassLoader(new URL[] { directory.resolve("classes").toUri().toURL() }, SyntheticClasspath.class.getClassLoader());
+	}
+
+	/**
+	 * Generates the packages synthetic.p0 to synthetic.pN, each one containing interfaces and their implementations
+	 *
+	 * @param packages
+	 * @param interfacesPerPackage
+	 * @param implementationsPerInterface
+	 * @return SyntheticClasspath
+	 * @throws IOException
+	 */
+	public static SyntheticClasspath generate(final int packages, final int interfacesPerPackage, final int implementationsPerInterface) throws IOException {
+		return SyntheticClasspath.builder().packages(packages).interfacesPerPackage(interfacesPerPackage).implementationsPerInterface(implementationsPerInterface).generate();
+	}
+
+	/**
+	 *
+	 * @return Builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 *
+	 * @param builder
+	 * @return SyntheticClasspath
+	 * @throws IOException
+	 */
+	private static SyntheticClasspath generate(final Builder builder) throws IOException {
+		final Path directory = Files.createTempDirectory("md-ioc-synthetic");
+		final Path output = Files.createDirectories(directory.resolve("classes"));
+		final List<String> packageNames = new ArrayList<>();
+
+		for (int p = 0; p < builder.packages; p++) {
+			final String packageName = "synthetic.p" + p;
+			final Path packageDirectory = Files.createDirectories(directory.resolve("src").resolve(packageName.replace('.', '/')));
+			final List<Path> sources = new ArrayList<>();
+
+			packageNames.add(packageName);
+
+			for (int i = 0; i < builder.interfacesPerPackage; i++) {
+				final String interfaceName = "Service" + i;
+				sources.add(Files.writeString(packageDirectory.resolve(interfaceName + ".java"), String.format("package %s; public interface %s {}", packageName, interfaceName)));
+
+				for (int j = 0; j < builder.implementationsPerInterface; j++) {
+					final String implementationName = interfaceName + "Impl" + j;
+					sources.add(Files.writeString(packageDirectory.resolve(implementationName + ".java"), builder.implementationSource(packageName, i, implementationName)));
+				}
+			}
+
+			// The dependencies never leave their package, so each package is compiled on its own to bound the memory used by the compiler
+			compile(output, sources);
+		}
+
+		return new SyntheticClasspath(directory, packageNames);
+	}
+
+	/**
+	 *
+	 * @param output
+	 * @param sources
+	 * @throws IOException
+	 */
+	private static void compile(final Path output, final List<Path> sources) throws IOException {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+			final Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromPaths(sources);
+			final List<String> options = List.of("-d", output.toString(), "-proc:none", "-classpath", System.getProperty("java.class.path") + File.pathSeparator + output);
+
+			if (!compiler.getTask(null, fileManager, null, options, null, compilationUnits).call()) {
+				throw new IOException("Cannot compile the synthetic classpath in " + output);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return List<String>
+	 */
+	public List<String> getPackageNames() {
+		return this.packageNames;
+	}
+
+	/**
+	 *
+	 * @return ClassLoader
+	 */
+	public ClassLoader getClassLoader() {
+		return this.classLoader;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.classLoader.close();
+
+		try (Stream<Path> files = Files.walk(this.directory)) {
+			for (final Path file : (Iterable<Path>)files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	/**
+	 * The shape of the generated bean graph
+	 */
+	public static final class Builder {
+
+		private int packages = 1;
+
+		private int interfacesPerPackage = 1;
+
+		private int implementationsPerInterface = 1;
+
+		private boolean qualifiers;
+
+		private int dependencyDepth;
+
+		/**
+		 *
+		 */
+		private Builder() {}
+
+		/**
+		 *
+		 * @param packages
+		 * @return Builder
+		 */
+		public Builder packages(final int packages) {
+			this.packages = packages;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param interfacesPerPackage
+		 * @return Builder
+		 */
+		public Builder interfacesPerPackage(final int interfacesPerPackage) {
+			this.interfacesPerPackage = interfacesPerPackage;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param implementationsPerInterface
+		 * @return Builder
+		 */
+		public Builder implementationsPerInterface(final int implementationsPerInterface) {
+			this.implementationsPerInterface = implementationsPerInterface;
+			return this;
+		}
+
+		/**
+		 * When enabled, the first implementation of each interface is annotated with @Default and the other ones with @Named
+		 *
+		 * @param qualifiers
+		 * @return Builder
+		 */
+		public Builder qualifiers(final boolean qualifiers) {
+			this.qualifiers = qualifiers;
+			return this;
+		}
+
+		/**
+		 * The implementations of the interface ServiceI inject ServiceI-1, up to the given depth: with a depth of 2, Service2 depends
+		 * on Service1 which depends on Service0, then Service5 depends on Service4 which depends on Service3, etc.
+		 *
+		 * @param dependencyDepth
+		 * @return Builder
+		 */
+		public Builder dependencyDepth(final int dependencyDepth) {
+			this.dependencyDepth = dependencyDepth;
+			return this;
+		}
+
+		/**
+		 *
+		 * @param packageName
+		 * @param interfaceIndex
+		 * @param implementationName
+		 * @return String
+		 */
+		private String implementationSource(final String packageName, final int interfaceIndex, final String implementationName) {
+			final StringBuilder source = new StringBuilder();
+
+			source.append("package ").append(packageName).append("; ");
+
+			if (this.qualifiers && implementationName.endsWith("Impl0")) {
+				source.append("@javax.enterprise.inject.Default ");
+			} else if (this.qualifiers) {
+				source.append("@javax.inject.Named(\"").append(implementationName).append("\") ");
+			}
+
+			source.append("public class ").append(implementationName).append(" implements Service").append(interfaceIndex).append(" {");
+
+			if (this.dependencyDepth > 0 && interfaceIndex % (this.dependencyDepth + 1) != 0) {
+				source.append(" @javax.inject.Inject private Service").append(interfaceIndex - 1).append(" dependency;");
+			}
+
+			return source.append(" }").toString();
+		}
+
+		/**
+		 *
+		 * @return int the number of implementations generated
+		 */
+		public int getBeanCount() {
+			return this.packages * this.interfacesPerPackage * this.implementationsPerInterface;
+		}
+
+		/**
+		 *
+		 * @return SyntheticClasspath
+		 * @throws IOException
+		 */
+		public SyntheticClasspath generate() throws IOException {
+			return SyntheticClasspath.generate(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class Controller {
+
+	@Inject
+	private Service service;
+
+	public Service getService() {
+		return this.service;
+	}
+
+}
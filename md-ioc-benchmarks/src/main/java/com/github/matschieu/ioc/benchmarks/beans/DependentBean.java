@@ -0,0 +1,16 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class DependentBean {
+
+	private final StringBuilder buffer = new StringBuilder();
+
+	public StringBuilder getBuffer() {
+		return this.buffer;
+	}
+
+}
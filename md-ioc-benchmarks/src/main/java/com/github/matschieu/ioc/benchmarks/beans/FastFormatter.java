@@ -0,0 +1,18 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import com.github.matschieu.ioc.benchmarks.qualifiers.Fast;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Fast
+public class FastFormatter implements Formatter {
+
+	@Override
+	public String format(final String str) {
+		return str;
+	}
+
+}
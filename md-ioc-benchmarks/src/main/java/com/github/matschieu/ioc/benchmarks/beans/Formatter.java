@@ -0,0 +1,12 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public interface Formatter {
+
+	String format(String str);
+
+}
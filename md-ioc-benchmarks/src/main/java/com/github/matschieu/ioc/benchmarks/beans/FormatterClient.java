@@ -0,0 +1,27 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import com.github.matschieu.ioc.benchmarks.qualifiers.Fast;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class FormatterClient {
+
+	@Inject
+	@Named("upper")
+	private Formatter upper;
+
+	@Inject
+	@Fast
+	private Formatter fast;
+
+	public String format(final String str) {
+		return this.fast.format(this.upper.format(str));
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import javax.inject.Named;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Named("lower")
+public class LowerFormatter implements Formatter {
+
+	@Override
+	public String format(final String str) {
+		return str.toLowerCase();
+	}
+
+}
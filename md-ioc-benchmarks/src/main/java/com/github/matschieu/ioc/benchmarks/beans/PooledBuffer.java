@@ -0,0 +1,28 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import javax.annotation.PostConstruct;
+
+import com.github.matschieu.ioc.core.annotations.Pooled;
+import com.github.matschieu.ioc.core.annotations.Reset;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Pooled
+public class PooledBuffer {
+
+	private StringBuilder buffer;
+
+	@PostConstruct
+	public void init() {
+		this.buffer = new StringBuilder(1024);
+	}
+
+	@Reset
+	public void reset() {
+		this.buffer.setLength(0);
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import javax.annotation.PostConstruct;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class RepositoryImpl implements Repository {
+
+	private String prefix;
+
+	@PostConstruct
+	public void postConstruct() {
+		this.prefix = "value of ";
+	}
+
+	@Override
+	public String find(final String key) {
+		return this.prefix + key;
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ServiceImpl implements Service {
+
+	@Inject
+	private Repository repository;
+
+	@Override
+	public String handle(final String request) {
+		return this.repository.find(request);
+	}
+
+}
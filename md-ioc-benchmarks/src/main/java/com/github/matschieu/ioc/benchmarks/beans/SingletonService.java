@@ -0,0 +1,13 @@
+package com.github.matschieu.ioc.benchmarks.beans;
+
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class SingletonService {
+
+}
@@ -0,0 +1,405 @@
+package com.github.matschieu.ioc.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a BeanFactory for each bean, i.e. each class using the javax.inject annotations (@Inject, @PostConstruct, a qualifier or a scope).
+ * The factory creates and wires the bean with plain Java code, without reflection: the bean is created with its constructor annotated with @Inject
+ * if any, or else with its no-arg constructor. As it lives in the package of the bean, the injected fields,
+ * the post construct method and the constructor of the bean must not be private: the container falls back to the reflective injection for the
+ * beans that cannot have a factory.
+ *
+ * @author Matschieu
+ *
+ */
+@SupportedAnnotationTypes("*")
+public class BeanFactoryProcessor extends AbstractProcessor {
+
+	public static final String SUFFIX = "_Factory";
+
+	private static final String BEAN_FACTORY = "com.github.matschieu.ioc.core.BeanFactory";
+
+	private static final String INJECTOR = "com.github.matschieu.ioc.core.Injector";
+
+	private static final String INVOCATION_EXCEPTION = "com.github.matschieu.ioc.core.exceptions.InvocationException";
+
+	private static final String ILLEGAL_ARGUMENT_EXCEPTION = "com.github.matschieu.ioc.core.exceptions.IllegalArgumentException";
+
+	private static final String INJECT = "javax.inject.Inject";
+
+	private static final String PROVIDER = "javax.inject.Provider";
+
+	private static final String POST_CONSTRUCT = "javax.annotation.PostConstruct";
+
+	private static final String QUALIFIER = "javax.inject.Qualifier";
+
+	private static final String SCOPE = "javax.inject.Scope";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		if (!roundEnv.processingOver()) {
+			roundEnv.getRootElements().forEach(e -> this.collect(e));
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @param element
+	 */
+	private void collect(final Element element) {
+		if (!(element instanceof TypeElement)) {
+			return;
+		}
+
+		final TypeElement type = (TypeElement)element;
+
+		if (type.getKind() == ElementKind.CLASS && this.isBean(type)) {
+			final String error = this.validate(type);
+
+			if (error == null) {
+				this.generate(type);
+			} else {
+				this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, String.format("No factory generated for %s, it will be injected by reflection: %s", type.getQualifiedName(), error), type);
+			}
+		}
+
+		type.getEnclosedElements().forEach(e -> this.collect(e));
+	}
+
+	/**
+	 *
+	 * @param element
+	 * @param annotationName
+	 * @return boolean
+	 */
+	private boolean hasAnnotation(final Element element, final String annotationName) {
+		return element.getAnnotationMirrors().stream().anyMatch(a -> ((TypeElement)a.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName));
+	}
+
+	/**
+	 *
+	 * @param element
+	 * @param metaAnnotationName
+	 * @return boolean
+	 */
+	private boolean hasMetaAnnotation(final Element element, final String metaAnnotationName) {
+		return element.getAnnotationMirrors().stream().anyMatch(a -> this.hasAnnotation(a.getAnnotationType().asElement(), metaAnnotationName));
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return List<VariableElement>
+	 */
+	private List<VariableElement> getInjectedFields(final TypeElement type) {
+		return ElementFilter.fieldsIn(type.getEnclosedElements()).stream().filter(f -> this.hasAnnotation(f, INJECT)).collect(Collectors.toList());
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return List<ExecutableElement>
+	 */
+	private List<ExecutableElement> getInjectConstructors(final TypeElement type) {
+		return ElementFilter.constructorsIn(type.getEnclosedElements()).stream().filter(c -> this.hasAnnotation(c, INJECT)).collect(Collectors.toList());
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return List<? extends VariableElement> the parameters of the constructor annotated with @Inject, empty if there is none
+	 */
+	private List<? extends VariableElement> getConstructorParameters(final TypeElement type) {
+		final List<ExecutableElement> constructors = this.getInjectConstructors(type);
+		return constructors.size() == 1 ? constructors.get(0).getParameters() : List.of();
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return List<ExecutableElement>
+	 */
+	private List<ExecutableElement> getPostConstructMethods(final TypeElement type) {
+		return ElementFilter.methodsIn(type.getEnclosedElements()).stream().filter(m -> this.hasAnnotation(m, POST_CONSTRUCT)).collect(Collectors.toList());
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return boolean
+	 */
+	private boolean isBean(final TypeElement type) {
+		return !this.getInjectedFields(type).isEmpty()
+				|| !this.getInjectConstructors(type).isEmpty()
+				|| !this.getPostConstructMethods(type).isEmpty()
+				|| this.hasMetaAnnotation(type, QUALIFIER)
+				|| this.hasMetaAnnotation(type, SCOPE);
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return String the reason why the bean cannot have a factory, or null
+	 */
+	private String validate(final TypeElement type) {
+		if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+			return "the class is abstract";
+		}
+
+		if (!type.getTypeParameters().isEmpty()) {
+			return "the class is generic";
+		}
+
+		for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+			final TypeElement enclosingType = (TypeElement)enclosing;
+
+			if (enclosingType.getModifiers().contains(Modifier.PRIVATE)) {
+				return "the class is private";
+			}
+
+			if (enclosingType.getNestingKind() != NestingKind.TOP_LEVEL && (enclosingType.getNestingKind() != NestingKind.MEMBER || !enclosingType.getModifiers().contains(Modifier.STATIC))) {
+				return "the class is not a top level or a static nested class";
+			}
+		}
+
+		final List<ExecutableElement> injectConstructors = this.getInjectConstructors(type);
+
+		if (injectConstructors.size() > 1) {
+			return "there is more than one constructor annotated with @Inject";
+		}
+
+		if (injectConstructors.isEmpty()) {
+			final boolean hasConstructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream().anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+
+			if (!hasConstructor) {
+				return "there is no accessible no-arg constructor";
+			}
+		} else if (injectConstructors.get(0).getModifiers().contains(Modifier.PRIVATE)) {
+			return "the constructor annotated with @Inject is private";
+		}
+
+		for (final VariableElement parameter : this.getConstructorParameters(type)) {
+			if (parameter.asType().getKind().isPrimitive()) {
+				return String.format("the constructor parameter %s has a primitive type", parameter.getSimpleName());
+			}
+			if (this.isProvider(parameter) && this.getProvidedType(parameter) == null) {
+				return String.format("the constructor parameter %s is not a provider of a class", parameter.getSimpleName());
+			}
+		}
+
+		for (final VariableElement field : this.getInjectedFields(type)) {
+			if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.FINAL)) {
+				return String.format("the field %s is private, static or final", field.getSimpleName());
+			}
+			if (field.asType().getKind().isPrimitive()) {
+				return String.format("the field %s has a primitive type", field.getSimpleName());
+			}
+			if (this.isProvider(field) && this.getProvidedType(field) == null) {
+				return String.format("the field %s is not a provider of a class", field.getSimpleName());
+			}
+		}
+
+		final List<ExecutableElement> postConstructMethods = this.getPostConstructMethods(type);
+
+		if (postConstructMethods.size() > 1) {
+			return "there is more than one post construct method";
+		}
+
+		for (final ExecutableElement method : postConstructMethods) {
+			if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC) || method.getReturnType().getKind() != TypeKind.VOID || !method.getParameters().isEmpty()) {
+				return String.format("the post construct method %s is private, static, does not return void or has parameters", method.getSimpleName());
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return String
+	 */
+	private String getFactorySimpleName(final TypeElement type) {
+		final String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		final String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+		return (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + SUFFIX;
+	}
+
+	/**
+	 *
+	 * @param field a field or a parameter
+	 * @return boolean
+	 */
+	private boolean isProvider(final VariableElement field) {
+		return field.asType().getKind() == TypeKind.DECLARED && ((TypeElement)((DeclaredType)field.asType()).asElement()).getQualifiedName().contentEquals(PROVIDER);
+	}
+
+	/**
+	 *
+	 * @param field a Provider field or parameter
+	 * @return TypeMirror the erasure of the type argument of the provider, or null if it is not a class
+	 */
+	private TypeMirror getProvidedType(final VariableElement field) {
+		final List<? extends TypeMirror> typeArguments = ((DeclaredType)field.asType()).getTypeArguments();
+		return typeArguments.size() == 1 && typeArguments.get(0).getKind() == TypeKind.DECLARED ? this.processingEnv.getTypeUtils().erasure(typeArguments.get(0)) : null;
+	}
+
+	/**
+	 *
+	 * @param field a field or a parameter
+	 * @return boolean
+	 */
+	private boolean hasQualifiers(final VariableElement field) {
+		return field.getAnnotationMirrors().stream().map(AnnotationMirror::getAnnotationType).anyMatch(a -> this.hasAnnotation(a.asElement(), QUALIFIER));
+	}
+
+	/**
+	 *
+	 * @param element a field or a parameter
+	 * @return TypeMirror the type injected in the element, or provided if it is a provider
+	 */
+	private TypeMirror getDependencyType(final VariableElement element) {
+		return this.isProvider(element) ? this.getProvidedType(element) : this.processingEnv.getTypeUtils().erasure(element.asType());
+	}
+
+	/**
+	 *
+	 * @param code
+	 * @param beanName
+	 * @param element a field or a parameter
+	 * @param dependency the name of the constant describing the dependency
+	 * @param qualifiers the expression reading the qualifiers of the element
+	 */
+	private void appendDependency(final StringBuilder code, final String beanName, final VariableElement element, final String dependency, final String qualifiers) {
+		final TypeMirror type = this.getDependencyType(element);
+
+		code.append("\tprivate static final ").append(BEAN_FACTORY).append(".Dependency<").append(type).append("> ").append(dependency).append(" = ")
+		.append(BEAN_FACTORY).append(".dependencyOf(").append(type).append(".class");
+		if (this.hasQualifiers(element)) {
+			code.append(", ").append(BEAN_FACTORY).append(qualifiers);
+		}
+		code.append(");\n\n");
+	}
+
+	/**
+	 *
+	 * @param element a field or a parameter
+	 * @param dependency the name of the constant describing the dependency of the element
+	 * @return String the expression resolving the value of the element with the injector
+	 */
+	private String getValueExpression(final VariableElement element, final String dependency) {
+		if (this.isProvider(element)) {
+			return "(" + PROVIDER + ")" + BEAN_FACTORY + ".provider(injector, " + dependency + ")";
+		}
+		// The errors of the dependency must be thrown to the container, the public inject method would only log them
+		return BEAN_FACTORY + (element.getKind() == ElementKind.PARAMETER ? ".parameter(" : ".dependency(") + "injector, " + dependency + ")";
+	}
+
+	/**
+	 *
+	 * @param type
+	 */
+	private void generate(final TypeElement type) {
+		final String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		final String factoryName = this.getFactorySimpleName(type);
+		final String beanName = type.getQualifiedName().toString();
+		final StringBuilder code = new StringBuilder();
+
+		if (!packageName.isEmpty()) {
+			code.append("package ").append(packageName).append(";\n\n");
+		}
+
+		code.append("@javax.annotation.processing.Generated(\"").append(BeanFactoryProcessor.class.getName()).append("\")\n");
+		code.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+		code.append("public final class ").append(factoryName).append(" implements ").append(BEAN_FACTORY).append('<').append(beanName).append("> {\n\n");
+
+		// The dependencies are described once, when the factory is loaded, so that their resolution key is not computed on each injection
+		for (final VariableElement field : this.getInjectedFields(type)) {
+			this.appendDependency(code, beanName, field, field.getSimpleName() + "Dependency", ".qualifiersOf(" + beanName + ".class, \"" + field.getSimpleName() + "\")");
+		}
+
+		final List<? extends VariableElement> parameters = this.getConstructorParameters(type);
+
+		for (int i = 0; i < parameters.size(); i++) {
+			this.appendDependency(code, beanName, parameters.get(i), "parameter" + i + "Dependency", ".parameterQualifiersOf(" + beanName + ".class, " + i + ")");
+		}
+
+		code.append("\t@Override\n");
+		code.append("\tpublic ").append(beanName).append(" newInstance(final ").append(INJECTOR).append(" injector) throws ")
+		.append(INVOCATION_EXCEPTION).append(", ").append(ILLEGAL_ARGUMENT_EXCEPTION).append(" {\n");
+		code.append("\t\treturn new ").append(beanName).append('(');
+		for (int i = 0; i < parameters.size(); i++) {
+			code.append(i > 0 ? ", " : "").append(this.getValueExpression(parameters.get(i), "parameter" + i + "Dependency"));
+		}
+		code.append(");\n");
+		code.append("\t}\n\n");
+
+		code.append("\t@Override\n");
+		code.append("\tpublic boolean hasInjectConstructor() {\n");
+		code.append("\t\treturn ").append(!parameters.isEmpty()).append(";\n");
+		code.append("\t}\n\n");
+
+		code.append("\t@Override\n");
+		code.append("\tpublic void injectMembers(final ").append(beanName).append(" bean, final ").append(INJECTOR).append(" injector) throws ")
+		.append(INVOCATION_EXCEPTION).append(", ").append(ILLEGAL_ARGUMENT_EXCEPTION).append(" {\n");
+		for (final VariableElement field : this.getInjectedFields(type)) {
+			code.append("\t\tbean.").append(field.getSimpleName()).append(" = ").append(this.getValueExpression(field, field.getSimpleName() + "Dependency")).append(";\n");
+		}
+		code.append("\t}\n\n");
+
+		code.append("\t@Override\n");
+		code.append("\tpublic boolean hasPostConstruct() {\n");
+		code.append("\t\treturn ").append(!this.getPostConstructMethods(type).isEmpty()).append(";\n");
+		code.append("\t}\n\n");
+
+		code.append("\t@Override\n");
+		code.append("\tpublic void postConstruct(final ").append(beanName).append(" bean) throws ").append(INVOCATION_EXCEPTION).append(" {\n");
+		for (final ExecutableElement method : this.getPostConstructMethods(type)) {
+			code.append("\t\ttry {\n");
+			code.append("\t\t\tbean.").append(method.getSimpleName()).append("();\n");
+			code.append("\t\t} catch (final Throwable e) {\n");
+			code.append("\t\t\tthrow new ").append(INVOCATION_EXCEPTION).append("(e);\n");
+			code.append("\t\t}\n");
+		}
+		code.append("\t}\n\n");
+
+		code.append("}\n");
+
+		final String qualifiedFactoryName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+
+		try (Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedFactoryName, type).openWriter()) {
+			writer.write(code.toString());
+		} catch (final IOException e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format("Cannot write the factory %s: %s", qualifiedFactoryName, e.getMessage()), type);
+		}
+	}
+
+}
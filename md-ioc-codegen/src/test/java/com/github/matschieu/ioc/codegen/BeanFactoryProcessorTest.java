@@ -0,0 +1,173 @@
+package com.github.matschieu.ioc.codegen;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.BeanFactory;
+import com.github.matschieu.ioc.core.Container;
+import com.github.matschieu.ioc.core.ContainerConfiguration;
+import com.github.matschieu.ioc.core.Injector;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class BeanFactoryProcessorTest {
+
+	private static Path output;
+
+	private static URLClassLoader classLoader;
+
+	/**
+	 *
+	 * @param name
+	 * @param code
+	 * @return JavaFileObject
+	 */
+	private static JavaFileObject source(final String name, final String code) {
+		return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+				return code;
+			}
+		};
+	}
+
+	/**
+	 *
+	 * @param className
+	 * @return Object the factory the container uses for the class, or null if it injects it by reflection
+	 * @throws Exception
+	 */
+	private static Object factoryOf(final String className) throws Exception {
+		final Method get = Class.forName("com.github.matschieu.ioc.core.BeanFactories").getDeclaredMethod("get", Class.class);
+		get.setAccessible(true);
+		return get.invoke(null, classLoader.loadClass(className));
+	}
+
+	@BeforeClass
+	public static void compile() throws Exception {
+		output = Files.createTempDirectory("md-ioc-codegen");
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final List<String> options = Arrays.asList("-d", output.toString(), "-classpath", System.getProperty("java.class.path"));
+		final JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, options, null, Arrays.asList(
+				source("sample.Formatter", "package sample; public interface Formatter { String format(String s); }"),
+				source("sample.UpperFormatter", "package sample; @javax.inject.Named(\"upper\") public class UpperFormatter implements Formatter { public String format(String s) { return s.toUpperCase(); } }"),
+				source("sample.LowerFormatter", "package sample; @javax.inject.Named(\"lower\") public class LowerFormatter implements Formatter { public String format(String s) { return s.toLowerCase(); } }"),
+				source("sample.Greeter", "package sample; public class Greeter {"
+						+ " @javax.inject.Inject @javax.inject.Named(\"upper\") Formatter formatter;"
+						+ " @javax.inject.Inject @javax.inject.Named(\"lower\") javax.inject.Provider<Formatter> lower;"
+						+ " boolean ready;"
+						+ " @javax.annotation.PostConstruct void init() { this.ready = this.formatter != null; }"
+						+ " public String greet(String name) { return this.ready ? this.formatter.format(\"Hello \" + name) : null; }"
+						+ " public String whisper(String name) { return this.lower.get().format(\"Hello \" + name); } }"),
+				source("sample.ConstructorGreeter", "package sample; public class ConstructorGreeter {"
+						+ " private final Formatter formatter; private final javax.inject.Provider<Formatter> lower;"
+						+ " @javax.inject.Inject ConstructorGreeter(@javax.inject.Named(\"upper\") Formatter formatter, @javax.inject.Named(\"lower\") javax.inject.Provider<Formatter> lower) { this.formatter = formatter; this.lower = lower; }"
+						+ " public String greet(String name) { return this.formatter.format(\"Hello \" + name); }"
+						+ " public String whisper(String name) { return this.lower.get().format(\"Hello \" + name); } }"),
+				source("sample.FailingFormatter", "package sample; public class FailingFormatter {"
+						+ " @javax.annotation.PostConstruct void init() { throw new IllegalStateException(\"Cannot initialize\"); } }"),
+				source("sample.BrokenFormatter", "package sample; public class BrokenFormatter {"
+						+ " @javax.annotation.PostConstruct void init() { throw new AssertionError(\"Cannot initialize\"); } }"),
+				source("sample.FailingGreeter", "package sample; public class FailingGreeter {"
+						+ " @javax.inject.Inject FailingFormatter formatter; }"),
+				source("sample.PrivateGreeter", "package sample; public class PrivateGreeter {"
+						+ " @javax.inject.Inject @javax.inject.Named(\"lower\") private Formatter formatter;"
+						+ " public String greet(String name) { return this.formatter.format(\"Hello \" + name); } }")));
+
+		task.setProcessors(Arrays.asList(new BeanFactoryProcessor()));
+		Assert.assertTrue(task.call());
+
+		classLoader = new URLClassLoader(new URL[] { output.toUri().toURL() }, BeanFactoryProcessorTest.class.getClassLoader());
+	}
+
+	@AfterClass
+	public static void close() throws Exception {
+		classLoader.close();
+	}
+
+	@Test
+	public void testGeneratedFactories() {
+		Assert.assertTrue(Files.exists(output.resolve("sample/Greeter" + BeanFactoryProcessor.SUFFIX + ".class")));
+		Assert.assertTrue(Files.exists(output.resolve("sample/UpperFormatter" + BeanFactoryProcessor.SUFFIX + ".class")));
+		Assert.assertTrue(Files.exists(output.resolve("sample/ConstructorGreeter" + BeanFactoryProcessor.SUFFIX + ".class")));
+		Assert.assertFalse(Files.exists(output.resolve("sample/PrivateGreeter" + BeanFactoryProcessor.SUFFIX + ".class")));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFactory() throws Exception {
+		final Injector injector = Container.create(ContainerConfiguration.builder().classLoader(classLoader).basePackages("sample").build()).getInjector();
+		final BeanFactory<Object> factory = (BeanFactory<Object>)classLoader.loadClass("sample.Greeter" + BeanFactoryProcessor.SUFFIX).getDeclaredConstructor().newInstance();
+
+		final Object greeter = factory.newInstance(injector);
+		factory.injectMembers(greeter, injector);
+		factory.postConstruct(greeter);
+
+		Assert.assertEquals("HELLO WORLD", greeter.getClass().getMethod("greet", String.class).invoke(greeter, "world"));
+		Assert.assertEquals("hello world", greeter.getClass().getMethod("whisper", String.class).invoke(greeter, "World"));
+	}
+
+	@Test(expected = InvocationException.class)
+	@SuppressWarnings("unchecked")
+	public void testFactoryPropagatesErrors() throws Exception {
+		final Injector injector = Container.create(ContainerConfiguration.builder().classLoader(classLoader).basePackages("sample").build()).getInjector();
+		final BeanFactory<Object> factory = (BeanFactory<Object>)classLoader.loadClass("sample.FailingGreeter" + BeanFactoryProcessor.SUFFIX).getDeclaredConstructor().newInstance();
+
+		factory.injectMembers(factory.newInstance(injector), injector);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFactoryWrapsErrors() throws Exception {
+		final Injector injector = Container.create(ContainerConfiguration.builder().classLoader(classLoader).basePackages("sample").build()).getInjector();
+		final BeanFactory<Object> factory = (BeanFactory<Object>)classLoader.loadClass("sample.BrokenFormatter" + BeanFactoryProcessor.SUFFIX).getDeclaredConstructor().newInstance();
+
+		try {
+			factory.postConstruct(factory.newInstance(injector));
+			Assert.fail();
+		} catch (final InvocationException e) {
+			Assert.assertTrue(e.getCause() instanceof AssertionError);
+		}
+	}
+
+	@Test
+	public void testInjection() throws Exception {
+		final Injector injector = Container.create(ContainerConfiguration.builder().classLoader(classLoader).basePackages("sample").build()).getInjector();
+
+		Assert.assertEquals("sample.Greeter" + BeanFactoryProcessor.SUFFIX, BeanFactoryProcessorTest.factoryOf("sample.Greeter").getClass().getName());
+		Assert.assertEquals("sample.ConstructorGreeter" + BeanFactoryProcessor.SUFFIX, BeanFactoryProcessorTest.factoryOf("sample.ConstructorGreeter").getClass().getName());
+		Assert.assertNull(BeanFactoryProcessorTest.factoryOf("sample.PrivateGreeter"));
+
+		final Object greeter = injector.inject(classLoader.loadClass("sample.Greeter"));
+		Assert.assertEquals("HELLO WORLD", greeter.getClass().getMethod("greet", String.class).invoke(greeter, "world"));
+
+		final Object constructorGreeter = injector.inject(classLoader.loadClass("sample.ConstructorGreeter"));
+		Assert.assertEquals("HELLO WORLD", constructorGreeter.getClass().getMethod("greet", String.class).invoke(constructorGreeter, "world"));
+		Assert.assertEquals("hello world", constructorGreeter.getClass().getMethod("whisper", String.class).invoke(constructorGreeter, "World"));
+
+		final Object privateGreeter = injector.inject(classLoader.loadClass("sample.PrivateGreeter"));
+		Assert.assertEquals("hello world", privateGreeter.getClass().getMethod("greet", String.class).invoke(privateGreeter, "world"));
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ * Runs the post construct methods asynchronously and tracks the readiness of the beans.
+ * A bean is ready once its post construct method has returned and all the beans injected in it are ready: its post construct method is scheduled
+ * when the beans injected in it are ready, so it can use them. The injector only waits for a bean when it is actually needed, i.e. when it is
+ * returned to the application or passed to a constructor, while the beans injected in fields are initialized concurrently.
+ * The post construct methods run on virtual threads when the JDK provides them (Java 21 and later), looked up at runtime as the module targets Java 11,
+ * and on a bounded pool of daemon threads otherwise, shared by all the containers.
+ *
+ * @author Matschieu
+ *
+ */
+final class AsyncLifecycle {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AsyncLifecycle.class);
+
+	/** Shared by all the containers so that no executor has to be shut down, its threads are daemon threads */
+	private static final ExecutorService EXECUTOR = AsyncLifecycle.newExecutor();
+
+	/** The beans not ready yet, and the beans which failed until they are garbage collected, identified by reference */
+	private final Map<IdentityKey, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+	/** The keys of the beans garbage collected */
+	private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+	/** The readiness of the beans injected in each bean being initialized by the current thread */
+	private final ThreadLocal<Deque<List<CompletableFuture<Void>>>> dependencies = ThreadLocal.withInitial(ArrayDeque::new);
+
+	/**
+	 * The post construct method of a bean
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	@FunctionalInterface
+	interface PostConstruct {
+
+		/**
+		 *
+		 * @throws InvocationException
+		 * @throws DefinitionException
+		 */
+		void call() throws InvocationException, DefinitionException;
+
+	}
+
+	/**
+	 *
+	 * @return ExecutorService a virtual thread per task executor if available, a bounded pool otherwise
+	 */
+	private static ExecutorService newExecutor() {
+		try {
+			final MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+			final ExecutorService executor = (ExecutorService)factory.invokeExact();
+			LOGGER.debug("Post construct methods run on virtual threads");
+			return executor;
+		} catch (final Throwable e) {
+			LOGGER.debug("Virtual threads not available, post construct methods run on a bounded pool");
+		}
+
+		final int threads = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+		final AtomicInteger count = new AtomicInteger();
+		final ThreadFactory threadFactory = r -> {
+			final Thread thread = new Thread(r, "md-ioc-post-construct-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Starts collecting the readiness of the beans injected in a bean, until {@link #end()}
+	 *
+	 * @return List<CompletableFuture<Void>> the readiness of the beans injected
+	 */
+	List<CompletableFuture<Void>> begin() {
+		final List<CompletableFuture<Void>> collected = new ArrayList<>();
+		this.dependencies.get().push(collected);
+		return collected;
+	}
+
+	/**
+	 *
+	 */
+	void end() {
+		this.dependencies.get().pop();
+	}
+
+	/**
+	 *
+	 * @return boolean true if the current thread is initializing a bean, i.e. injecting its members
+	 */
+	boolean isInitializing() {
+		return !this.dependencies.get().isEmpty();
+	}
+
+	/**
+	 * Makes the bean being initialized by the current thread depend on the readiness of a bean injected in it
+	 *
+	 * @param bean
+	 */
+	void dependOn(final Object bean) {
+		final CompletableFuture<Void> readiness = this.pendingOf(bean);
+		final Deque<List<CompletableFuture<Void>>> stack = this.dependencies.get();
+
+		if (readiness != null && !stack.isEmpty()) {
+			stack.peek().add(readiness);
+		}
+	}
+
+	/**
+	 * Schedules the post construct method of a bean once the beans injected in it are ready
+	 *
+	 * @param bean
+	 * @param dependencies the readiness of the beans injected
+	 * @param postConstruct null if the bean has no post construct method
+	 */
+	void schedule(final Object bean, final List<CompletableFuture<Void>> dependencies, final PostConstruct postConstruct) {
+		if (dependencies.isEmpty() && postConstruct == null) {
+			return;
+		}
+
+		final CompletableFuture<Void> injected = CompletableFuture.allOf(dependencies.toArray(CompletableFuture<?>[]::new));
+		final CompletableFuture<Void> readiness = postConstruct == null ? injected : injected.thenRunAsync(() -> {
+			try {
+				postConstruct.call();
+			} catch (InvocationException | DefinitionException e) {
+				throw new CompletionException(e);
+			}
+		}, EXECUTOR);
+
+		this.expunge();
+
+		final IdentityKey key = new IdentityKey(bean, this.collected);
+		this.pending.put(key, readiness);
+
+		// A bean which failed stays pending, so that its failure is reported even if it is awaited after, until it is garbage collected
+		readiness.whenComplete((v, e) -> {
+			if (e == null) {
+				this.pending.remove(key);
+			}
+		});
+		this.dependOn(bean);
+	}
+
+	/**
+	 * Removes the beans garbage collected
+	 */
+	private void expunge() {
+		for (Reference<?> key = this.collected.poll(); key != null; key = this.collected.poll()) {
+			this.pending.remove(key);
+		}
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return CompletableFuture<Void> the readiness of the bean, or null if it is ready
+	 */
+	private CompletableFuture<Void> pendingOf(final Object bean) {
+		return bean != null && !this.pending.isEmpty() ? this.pending.get(new IdentityKey(bean)) : null;
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return CompletableFuture<Void> completed once the bean is ready
+	 */
+	CompletableFuture<Void> readiness(final Object bean) {
+		final CompletableFuture<Void> readiness = this.pendingOf(bean);
+		return readiness != null ? readiness : CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * Waits until the bean is ready
+	 *
+	 * @param bean
+	 * @throws InvocationException if the post construct method of the bean or of a bean injected in it failed
+	 */
+	void await(final Object bean) throws InvocationException {
+		final CompletableFuture<Void> readiness = this.pendingOf(bean);
+
+		if (readiness == null) {
+			return;
+		}
+
+		try {
+			readiness.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InvocationException(e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+			throw cause instanceof InvocationException ? (InvocationException)cause : new InvocationException(cause);
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the generated factory of each bean class, once per class.
+ *
+ * @author Matschieu
+ *
+ */
+final class BeanFactories {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BeanFactories.class);
+
+	private static final ClassValue<Optional<BeanFactory<?>>> FACTORIES = new ClassValue<>() {
+		@Override
+		protected Optional<BeanFactory<?>> computeValue(final Class<?> type) {
+			return BeanFactories.load(type);
+		}
+	};
+
+	/**
+	 *
+	 */
+	private BeanFactories() {}
+
+	/**
+	 *
+	 * @param type
+	 * @return String
+	 */
+	static String getFactoryName(final Class<?> type) {
+		final String packagePrefix = type.getPackageName().isEmpty() ? "" : type.getPackageName() + ".";
+		return packagePrefix + type.getName().substring(packagePrefix.length()).replace('$', '_') + BeanFactory.SUFFIX;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return Optional<BeanFactory<?>>
+	 */
+	private static Optional<BeanFactory<?>> load(final Class<?> type) {
+		if (type.isInterface() || type.isArray() || type.isPrimitive()) {
+			return Optional.empty();
+		}
+
+		try {
+			final Class<?> factoryClass = Class.forName(BeanFactories.getFactoryName(type), true, type.getClassLoader());
+
+			if (!BeanFactory.class.isAssignableFrom(factoryClass)) {
+				return Optional.empty();
+			}
+
+			LOGGER.debug("Using generated factory {}", factoryClass.getName());
+
+			return Optional.of((BeanFactory<?>)factoryClass.getDeclaredConstructor().newInstance());
+		} catch (final ClassNotFoundException e) {
+			return Optional.empty();
+		} catch (final Exception | LinkageError e) {
+			LOGGER.warn(String.format("Cannot use the generated factory of %s", type.getName()), e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return BeanFactory<Object> the generated factory of the class, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	static BeanFactory<Object> get(final Class<?> type) {
+		return (BeanFactory<Object>)FACTORIES.get(type).orElse(null);
+	}
+
+}
@@ -0,0 +1,192 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ * Creates and initializes the beans of a class without reflection.
+ * The factories are generated at compile time by the md-ioc-codegen module, in the package of the bean, and are named after the bean class
+ * with the {@value #SUFFIX} suffix (the $ of the nested classes being replaced by _). The container uses the factory of a bean when it exists,
+ * and falls back to the reflective injection otherwise.
+ *
+ * @author Matschieu
+ *
+ * @param <T>
+ */
+public interface BeanFactory<T> {
+
+	String SUFFIX = "_Factory";
+
+	/**
+	 * Creates the bean, through its constructor annotated with @Inject if any
+	 *
+	 * @param injector
+	 * @return T
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	T newInstance(Injector injector) throws InvocationException, IllegalArgumentException;
+
+	/**
+	 * Sets the fields annotated with @Inject
+	 *
+	 * @param bean
+	 * @param injector
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	void injectMembers(T bean, Injector injector) throws InvocationException, IllegalArgumentException;
+
+	/**
+	 *
+	 * @return boolean true if the bean is created by a constructor annotated with @Inject which takes dependencies
+	 */
+	boolean hasInjectConstructor();
+
+	/**
+	 *
+	 * @return boolean true if the bean has a method annotated with @PostConstruct
+	 */
+	boolean hasPostConstruct();
+
+	/**
+	 * Calls the method annotated with @PostConstruct, if any
+	 *
+	 * @param bean
+	 * @throws InvocationException
+	 */
+	void postConstruct(T bean) throws InvocationException;
+
+	/**
+	 * Describes a dependency of a bean once, when the generated factory is loaded
+	 *
+	 * @param <T>
+	 * @param type the type injected, or provided for a provider
+	 * @param qualifiers
+	 * @return Dependency<T>
+	 */
+	static <T> Dependency<T> dependencyOf(final Class<T> type, final Annotation... qualifiers) {
+		return new Dependency<>(type, qualifiers);
+	}
+
+	/**
+	 * Injects a field of a bean created by a generated factory: unlike {@link Injector#inject(Class, Annotation...)}, the errors of the dependency
+	 * are thrown to the factory
+	 *
+	 * @param <T>
+	 * @param injector
+	 * @param dependency
+	 * @return T
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	static <T> T dependency(final Injector injector, final Dependency<T> dependency) throws InvocationException, IllegalArgumentException {
+		try {
+			return injector.dependency(dependency.key, dependency.type, false, dependency.qualifiers);
+		} catch (final DefinitionException e) {
+			throw new InvocationException(e);
+		}
+	}
+
+	/**
+	 * Injects a parameter of the constructor of a bean created by a generated factory, waiting until it is ready
+	 *
+	 * @param <T>
+	 * @param injector
+	 * @param dependency
+	 * @return T
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	static <T> T parameter(final Injector injector, final Dependency<T> dependency) throws InvocationException, IllegalArgumentException {
+		try {
+			return injector.dependency(dependency.key, dependency.type, true, dependency.qualifiers);
+		} catch (final DefinitionException e) {
+			throw new InvocationException(e);
+		}
+	}
+
+	/**
+	 * Gets the provider injected in a field or a parameter of a bean created by a generated factory
+	 *
+	 * @param <T>
+	 * @param injector
+	 * @param dependency
+	 * @return Provider<T>
+	 */
+	static <T> Provider<T> provider(final Injector injector, final Dependency<T> dependency) {
+		return injector.providerOf(dependency.key, dependency.type, dependency.qualifiers);
+	}
+
+	/**
+	 * Reads the qualifiers of a field once, when the generated factory is loaded
+	 *
+	 * @param beanClass
+	 * @param fieldName
+	 * @return Annotation[]
+	 */
+	static Annotation[] qualifiersOf(final Class<?> beanClass, final String fieldName) {
+		try {
+			return Arrays.stream(beanClass.getDeclaredField(fieldName).getDeclaredAnnotations()).filter(a -> BeanHandler.isQualifier(a)).toArray(Annotation[]::new);
+		} catch (final NoSuchFieldException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Reads the qualifiers of a parameter of the constructor annotated with @Inject once, when the generated factory is loaded
+	 *
+	 * @param beanClass
+	 * @param index
+	 * @return Annotation[]
+	 */
+	static Annotation[] parameterQualifiersOf(final Class<?> beanClass, final int index) {
+		final Constructor<?> constructor = Arrays.stream(beanClass.getDeclaredConstructors())
+				.filter(c -> c.getDeclaredAnnotation(Inject.class) != null)
+				.findFirst()
+				.orElseThrow(() -> new IllegalStateException(String.format("No constructor annotated with @%s in class %s", Inject.class.getSimpleName(), beanClass.getName())));
+		return Arrays.stream(constructor.getParameters()[index].getDeclaredAnnotations()).filter(a -> BeanHandler.isQualifier(a)).toArray(Annotation[]::new);
+	}
+
+	/**
+	 * A dependency of a bean, with its resolution key computed once
+	 *
+	 * @author Matschieu
+	 *
+	 * @param <T>
+	 */
+	final class Dependency<T> {
+
+		private final Class<T> type;
+
+		private final Annotation[] qualifiers;
+
+		private final ResolutionKey key;
+
+		/**
+		 *
+		 * @param type
+		 * @param qualifiers
+		 */
+		private Dependency(final Class<T> type, final Annotation... qualifiers) {
+			this.type = type;
+			this.qualifiers = qualifiers;
+			this.key = new ResolutionKey(type, qualifiers);
+		}
+
+		@Override
+		public String toString() {
+			return this.key.toString();
+		}
+
+	}
+
+}
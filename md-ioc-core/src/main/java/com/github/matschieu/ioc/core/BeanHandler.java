@@ -1,11 +1,17 @@
 package com.github.matschieu.ioc.core;
 
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
+import javax.inject.Qualifier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,46 +35,83 @@ public class BeanHandler {
 
 	/**
 	 *
-	 * @param obj
+	 * @param annotation
+	 * @return boolean
+	 */
+	static boolean isQualifier(final Annotation annotation) {
+		return annotation != null && annotation.annotationType().getDeclaredAnnotation(Qualifier.class) != null;
+	}
+
+	/**
+	 * Finds and validates the post construct method of a class
+	 *
+	 * @param clazz
+	 * @return MethodHandle the post construct method taking the bean as an Object, or null if there is none
 	 * @throws InvocationException
 	 * @throws DefinitionException
 	 */
-	public static void handlePostConstruct(final Object obj) throws InvocationException, DefinitionException {
-		if (obj == null) {
-			return;
-		}
-
-		final List<Method> methods = Arrays.asList(obj.getClass().getDeclaredMethods()).stream().filter(m -> m.getAnnotation(PostConstruct.class) != null).collect(Collectors.toList());
+	static MethodHandle findPostConstruct(final Class<?> clazz) throws InvocationException, DefinitionException {
+		final List<Method> methods = Arrays.asList(clazz.getDeclaredMethods()).stream().filter(m -> m.getAnnotation(PostConstruct.class) != null).collect(Collectors.toList());
 
 		if (methods.size() == 0) {
-			return;
+			return null;
 		}
 
 		if (methods.size() > 1) {
-			throw new DefinitionException(String.format("Cannot have more than one post construct method annotated with @%s for class %s", PostConstruct.class.getSimpleName(), obj.getClass().getName()));
+			throw new DefinitionException(String.format("Cannot have more than one post construct method annotated with @%s for class %s", PostConstruct.class.getSimpleName(), clazz.getName()));
 		}
 
 		final Method postConstructMethod = methods.get(0);
 
 		if (postConstructMethod.getReturnType() != void.class) {
-			throw new DefinitionException(String.format("Method %s defined on class %s is not defined according to the specification. It is annotated with %s but it does not have a void return type", postConstructMethod.getName(), obj.getClass().getName(), PostConstruct.class.getSimpleName()));
+			throw new DefinitionException(String.format("Method %s defined on class %s is not defined according to the specification. It is annotated with %s but it does not have a void return type", postConstructMethod.getName(), clazz.getName(), PostConstruct.class.getSimpleName()));
 		}
 
 		if (postConstructMethod.getParameterCount() > 0) {
-			throw new DefinitionException(String.format("Method %s defined on class %s is not defined according to the specification. It is annotated with %s but it does not have zero parameters", postConstructMethod.getName(), obj.getClass().getName(), PostConstruct.class.getSimpleName()));
+			throw new DefinitionException(String.format("Method %s defined on class %s is not defined according to the specification. It is annotated with %s but it does not have zero parameters", postConstructMethod.getName(), clazz.getName(), PostConstruct.class.getSimpleName()));
 		}
 
 		if (!postConstructMethod.trySetAccessible()) {
-			throw new InvocationException(String.format("Method %s defined on class %s is not accessible", postConstructMethod.getName(), obj.getClass().getName()));
+			throw new InvocationException(String.format("Method %s defined on class %s is not accessible", postConstructMethod.getName(), clazz.getName()));
+		}
+
+		try {
+			MethodHandle postConstruct = MethodHandles.lookup().unreflect(postConstructMethod);
+
+			if (Modifier.isStatic(postConstructMethod.getModifiers())) {
+				postConstruct = MethodHandles.dropArguments(postConstruct, 0, Object.class);
+			}
+
+			return postConstruct.asType(MethodType.methodType(void.class, Object.class));
+		} catch (final IllegalAccessException e) {
+			throw new InvocationException(e);
+		}
+	}
+
+	/**
+	 *
+	 * @param obj
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 */
+	public static void handlePostConstruct(final Object obj) throws InvocationException, DefinitionException {
+		if (obj == null) {
+			return;
+		}
+
+		final MethodHandle postConstructMethod = InjectionPlan.of(obj.getClass()).getPostConstruct();
+
+		if (postConstructMethod == null) {
+			return;
 		}
 
-		LOGGER.debug("Calling post construct method: {}.{}()", obj.getClass().getName(), postConstructMethod.getName());
+		LOGGER.debug("Calling post construct method of {}", obj.getClass().getName());
 
 		try {
-			postConstructMethod.invoke(obj);
-		} catch (final Exception e) {
+			postConstructMethod.invokeExact(obj);
+		} catch (final Throwable e) {
 			throw new InvocationException(e);
 		}
 	}
 
-}
\ No newline at end of file
+}
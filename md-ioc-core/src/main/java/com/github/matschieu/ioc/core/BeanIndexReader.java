@@ -0,0 +1,131 @@
+package com.github.matschieu.ioc.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the bean indexes generated at compile time by the md-ioc-processor module.
+ * An index only describes the classes of the directory or the jar holding it: the other ones must still be scanned.
+ *
+ * @author Matschieu
+ *
+ */
+final class BeanIndexReader {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BeanIndexReader.class);
+
+	static final String INDEX_LOCATION = "META-INF/md-ioc/beans.idx";
+
+	/**
+	 *
+	 */
+	private BeanIndexReader() {}
+
+	/**
+	 * Reads all the bean indexes visible from the class loader.
+	 *
+	 * @param classLoader
+	 * @param filter the names of the classes to take into account
+	 * @param consumer called with each (implementation, interface) pair
+	 * @return Set<String> the classpath entries (directories or jars) holding an index, empty if no index can be read, in which case the consumer is never called
+	 */
+	static Set<String> read(final ClassLoader classLoader, final Predicate<String> filter, final BiConsumer<Class<?>, Class<?>> consumer) {
+		final List<Map.Entry<Class<?>, Class<?>>> entries = new ArrayList<>();
+		final Set<String> roots = new LinkedHashSet<>();
+
+		try {
+			for (final URL index : Collections.list(classLoader.getResources(INDEX_LOCATION))) {
+				LOGGER.debug("Reading bean index {}", index);
+				read(classLoader, index, filter, entries);
+				roots.add(BeanIndexReader.rootOf(index));
+			}
+		} catch (final IOException e) {
+			LOGGER.error(String.format("Cannot read bean index %s", INDEX_LOCATION), e);
+			return Set.of();
+		}
+
+		entries.forEach(e -> consumer.accept(e.getKey(), e.getValue()));
+
+		return roots;
+	}
+
+	/**
+	 *
+	 * @param index
+	 * @return String the classpath entry holding the index, as the scanner names it: the url of the directory, or the jar url ending with !/
+	 */
+	private static String rootOf(final URL index) {
+		final String url = index.toExternalForm();
+		return url.substring(0, url.length() - INDEX_LOCATION.length());
+	}
+
+	/**
+	 *
+	 * @param classLoader
+	 * @param index
+	 * @param filter
+	 * @param entries
+	 * @throws IOException
+	 */
+	private static void read(final ClassLoader classLoader, final URL index, final Predicate<String> filter, final List<Map.Entry<Class<?>, Class<?>>> entries) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+			String line;
+
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank() || line.startsWith("#")) {
+					continue;
+				}
+
+				final String[] columns = line.split("\t");
+
+				if (!filter.test(columns[0]) || columns.length < 2) {
+					continue;
+				}
+
+				final Class<?> implementation = loadClass(classLoader, columns[0]);
+
+				if (implementation == null) {
+					continue;
+				}
+
+				for (final String interfaceName : columns[1].split(",")) {
+					final Class<?> interfaceClass = filter.test(interfaceName) ? loadClass(classLoader, interfaceName) : null;
+
+					if (interfaceClass != null) {
+						entries.add(Map.entry(implementation, interfaceClass));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param classLoader
+	 * @param className
+	 * @return Class<?>
+	 */
+	private static Class<?> loadClass(final ClassLoader classLoader, final String className) {
+		try {
+			return Class.forName(className, false, classLoader);
+		} catch (ClassNotFoundException | LinkageError e) {
+			LOGGER.warn("Class {} listed in the bean index cannot be loaded", className);
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,322 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.matschieu.ioc.core.annotations.Pooled;
+import com.github.matschieu.ioc.core.annotations.Reset;
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+import com.github.matschieu.ioc.core.metrics.PoolStatistics;
+
+/**
+ * Lock-free bounded pool of the instances of a {@link Pooled} bean. Each slot of the pool owns an instance, idle or borrowed, its state being changed
+ * with a CAS. Each thread starts probing the slots at an index derived from its id, so that the threads rarely compete for the same slot.
+ * When there is no idle instance, a new one is created, initialized and given an empty slot; when all the slots are taken, it is tracked apart
+ * and dropped once released. Borrowing and releasing an instance owned by a slot allocates nothing. A slot refers to its instance weakly while it
+ * is borrowed, so that an instance never released is garbage collected and its slot reused. An instance released twice, or which does not come
+ * from the pool, is rejected instead of being handed out to two injections.
+ *
+ * @author Matschieu
+ *
+ */
+final class BeanPool {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BeanPool.class);
+
+	private static final ClassValue<Boolean> POOLED = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return type.getDeclaredAnnotation(Pooled.class) != null;
+		}
+	};
+
+	private final Class<?> type;
+
+	private static final int EMPTY = 0;
+
+	private static final int IDLE = 1;
+
+	private static final int BORROWED = 2;
+
+	/** Taken by a thread releasing the instance of the slot, or giving the slot to a new instance */
+	private static final int LOCKED = 3;
+
+	/** The state of each slot */
+	private final AtomicIntegerArray states;
+
+	/** The instance owned by each slot */
+	private final AtomicReferenceArray<Reference<Object>> owners;
+
+	/** The instance of each slot while it is idle, so that it is not garbage collected */
+	private final AtomicReferenceArray<Object> idle;
+
+	private final MethodHandle reset;
+
+	private final Exception error;
+
+	/** The instances borrowed while all the slots were taken, and not released yet */
+	private final Map<IdentityKey, Boolean> overflow = new ConcurrentHashMap<>();
+
+	/** The keys of the instances borrowed while all the slots were taken, and garbage collected without being released */
+	private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder releases = new LongAdder();
+
+	private final LongAdder discarded = new LongAdder();
+
+	/**
+	 *
+	 * @param type
+	 */
+	BeanPool(final Class<?> type) {
+		final int max = type.getDeclaredAnnotation(Pooled.class).max();
+		MethodHandle reset = null;
+		Exception error = null;
+
+		try {
+			if (max <= 0) {
+				throw new DefinitionException(String.format("The maximum size of the pool of class %s must be positive: %d", type.getName(), max));
+			}
+			reset = BeanPool.findReset(type);
+		} catch (InvocationException | DefinitionException e) {
+			error = e;
+		}
+
+		this.type = type;
+		this.states = new AtomicIntegerArray(Math.max(1, max));
+		this.owners = new AtomicReferenceArray<>(this.states.length());
+		this.idle = new AtomicReferenceArray<>(this.states.length());
+		this.reset = reset;
+		this.error = error;
+	}
+
+	/**
+	 *
+	 * @param clazz
+	 * @return boolean
+	 */
+	static boolean isPooled(final Class<?> clazz) {
+		return POOLED.get(clazz);
+	}
+
+	/**
+	 *
+	 * @param clazz
+	 * @return MethodHandle the reset method taking the bean as an Object, or null if there is none
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 */
+	private static MethodHandle findReset(final Class<?> clazz) throws InvocationException, DefinitionException {
+		final List<Method> methods = Arrays.stream(clazz.getDeclaredMethods()).filter(m -> m.getAnnotation(Reset.class) != null).collect(Collectors.toList());
+
+		if (methods.isEmpty()) {
+			return null;
+		}
+
+		if (methods.size() > 1) {
+			throw new DefinitionException(String.format("Cannot have more than one reset method annotated with @%s for class %s", Reset.class.getSimpleName(), clazz.getName()));
+		}
+
+		final Method resetMethod = methods.get(0);
+
+		if (resetMethod.getReturnType() != void.class || resetMethod.getParameterCount() > 0) {
+			throw new DefinitionException(String.format("Method %s defined on class %s is annotated with @%s but it does not have a void return type and zero parameters", resetMethod.getName(), clazz.getName(), Reset.class.getSimpleName()));
+		}
+
+		if (!resetMethod.trySetAccessible()) {
+			throw new InvocationException(String.format("Method %s defined on class %s is not accessible", resetMethod.getName(), clazz.getName()));
+		}
+
+		try {
+			return MethodHandles.lookup().unreflect(resetMethod).asType(MethodType.methodType(void.class, Object.class));
+		} catch (final IllegalAccessException e) {
+			throw new InvocationException(e);
+		}
+	}
+
+	/**
+	 *
+	 * @return int the first slot probed by the current thread
+	 */
+	private int firstSlot() {
+		return (int)(Thread.currentThread().getId() % this.states.length());
+	}
+
+	/**
+	 * Takes an idle instance, or creates and initializes a new one if there is none
+	 *
+	 * @param injector
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	Object borrow(final Injector injector) throws InvocationException, IllegalArgumentException {
+		if (this.error != null) {
+			throw new InvocationException(this.error);
+		}
+
+		final int length = this.states.length();
+		final int first = this.firstSlot();
+
+		for (int i = 0; i < length; i++) {
+			final int index = (first + i) % length;
+
+			if (this.states.get(index) == IDLE && this.states.compareAndSet(index, IDLE, BORROWED)) {
+				this.hits.increment();
+				return this.idle.getAndSet(index, null);
+			}
+		}
+
+		this.misses.increment();
+
+		final Object instance = Instantiator.of(this.type).newInstance(injector);
+
+		try {
+			injector.initialize(instance);
+		} catch (final DefinitionException e) {
+			throw new InvocationException(e);
+		}
+
+		if (!this.own(instance, BORROWED)) {
+			for (Reference<?> key = this.collected.poll(); key != null; key = this.collected.poll()) {
+				this.overflow.remove(key);
+			}
+			this.overflow.put(new IdentityKey(instance, this.collected), Boolean.TRUE);
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Gives a slot to an instance, if there is an empty slot or a slot whose borrowed instance has been garbage collected
+	 *
+	 * @param instance
+	 * @param state the state of the slot once given, idle or borrowed
+	 * @return boolean true if the instance owns a slot
+	 */
+	private boolean own(final Object instance, final int state) {
+		final int length = this.states.length();
+		final int first = this.firstSlot();
+
+		for (int i = 0; i < length; i++) {
+			final int index = (first + i) % length;
+			final int current = this.states.get(index);
+
+			if (current == EMPTY || current == BORROWED && this.owners.get(index).get() == null) {
+				if (this.states.compareAndSet(index, current, LOCKED)) {
+					this.owners.set(index, new WeakReference<>(instance));
+					this.idle.set(index, state == IDLE ? instance : null);
+					this.states.set(index, state);
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 *
+	 * @param instance
+	 * @return int the slot owning the instance if it is borrowed, taken by the current thread, or -1 if there is none
+	 */
+	private int lock(final Object instance) {
+		for (int i = 0; i < this.states.length(); i++) {
+			if (this.states.get(i) == BORROWED) {
+				final Reference<Object> owner = this.owners.get(i);
+
+				if (owner != null && owner.get() == instance && this.states.compareAndSet(i, BORROWED, LOCKED)) {
+					return i;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Resets an instance and puts it back in the pool, unless the pool is full
+	 *
+	 * @param instance
+	 * @return boolean true if the instance is kept for a next injection, false if it is dropped or if it is not borrowed, i.e. already released or not from this pool
+	 * @throws InvocationException if the reset method failed, the instance being dropped
+	 */
+	boolean release(final Object instance) throws InvocationException {
+		final int index = this.lock(instance);
+
+		if (index < 0 && this.overflow.remove(new IdentityKey(instance)) == null) {
+			LOGGER.warn("Instance of {} not borrowed from the pool, release ignored", this.type.getName());
+			return false;
+		}
+
+		this.releases.increment();
+
+		if (this.reset != null) {
+			try {
+				this.reset.invokeExact(instance);
+			} catch (final Throwable e) {
+				this.discarded.increment();
+
+				if (index >= 0) {
+					this.owners.set(index, null);
+					this.states.set(index, EMPTY);
+				}
+
+				throw new InvocationException(e);
+			}
+		}
+
+		if (index >= 0) {
+			this.idle.set(index, instance);
+			this.states.set(index, IDLE);
+			return true;
+		}
+
+		if (this.own(instance, IDLE)) {
+			return true;
+		}
+
+		LOGGER.debug("Pool of {} is full, instance dropped", this.type.getName());
+		this.discarded.increment();
+		return false;
+	}
+
+	/**
+	 *
+	 * @return PoolStatistics
+	 */
+	PoolStatistics getStatistics() {
+		int idle = 0;
+
+		for (int i = 0; i < this.states.length(); i++) {
+			if (this.states.get(i) == IDLE) {
+				idle++;
+			}
+		}
+
+		return new PoolStatistics(this.type, this.states.length(), idle, this.hits.sum(), this.misses.sum(), this.releases.sum(), this.discarded.sum());
+	}
+
+}
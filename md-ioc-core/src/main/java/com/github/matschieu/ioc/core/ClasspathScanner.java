@@ -0,0 +1,212 @@
+package com.github.matschieu.ioc.core;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.matschieu.ioc.core.profiling.StartupProfiler;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Kind;
+
+/**
+ * Finds the implementations of the interfaces defined in a set of packages.
+ * The jars and directories containing the packages are scanned only once, in parallel, and the whole subtype hierarchy is built from this single scan.
+ *
+ * @author Matschieu
+ *
+ */
+final class ClasspathScanner {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ClasspathScanner.class);
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 *
+	 */
+	private ClasspathScanner() {}
+
+	/**
+	 *
+	 * @param classLoader
+	 * @param packageNames
+	 * @param filter the names of the classes to take into account
+	 * @param indexedUrls the urls of the directories and jars not to scan, as they have a bean index
+	 * @param profiler records the time of the scan and the time spent loading the classes of each package, may be null
+	 * @return Map<Class<?>, Set<Class<?>>> the implementations (classes and sub-interfaces) of each interface defined in the packages, in the directories and jars not indexed
+	 */
+	static Map<Class<?>, Set<Class<?>>> scan(final ClassLoader classLoader, final Collection<String> packageNames, final Predicate<String> filter, final Set<String> indexedUrls, final StartupProfiler profiler) {
+		final List<String> roots = ClasspathScanner.getRoots(packageNames);
+
+		if (roots.isEmpty()) {
+			return Map.of();
+		}
+
+		final Set<URL> urls = new LinkedHashSet<>();
+		final FilterBuilder rootFilter = new FilterBuilder();
+
+		for (final String root : roots) {
+			LOGGER.debug("Scanning {}", root);
+			ClasspathHelper.forPackage(root, classLoader).stream().filter(u -> !indexedUrls.contains(u.toExternalForm())).forEach(urls::add);
+			rootFilter.includePackage(root);
+		}
+
+		if (urls.isEmpty()) {
+			return Map.of();
+		}
+
+		final ConfigurationBuilder configuration = new ConfigurationBuilder()
+				.setUrls(urls)
+				.addClassLoaders(classLoader)
+				.filterInputsBy(rootFilter.and(n -> filter.test(n.endsWith(CLASS_FILE_EXTENSION) ? n.substring(0, n.length() - CLASS_FILE_EXTENSION.length()) : n)))
+				.setScanners(Scanners.SubTypes.filterResultsBy(s -> true))
+				.setParallel(true);
+
+		final long start = System.nanoTime();
+		final Map<String, Set<String>> subTypes = ClasspathScanner.scan(configuration).getStore().getOrDefault(Scanners.SubTypes.index(), Map.of());
+
+		if (profiler != null) {
+			profiler.record(Kind.SCAN, String.join(",", roots), System.nanoTime() - start);
+		}
+
+		return ClasspathScanner.buildHierarchy(classLoader, roots, filter, subTypes, profiler);
+	}
+
+	/**
+	 * Runs the scan in a dedicated pool so that the parallel scan of the urls does not compete with the common pool
+	 *
+	 * @param configuration
+	 * @return Reflections
+	 */
+	private static Reflections scan(final ConfigurationBuilder configuration) {
+		final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+		try {
+			return pool.submit(() -> new Reflections(configuration)).get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Removes the packages included in another one as they are scanned with it
+	 *
+	 * @param packageNames
+	 * @return List<String>
+	 */
+	private static List<String> getRoots(final Collection<String> packageNames) {
+		return packageNames.stream()
+				.distinct()
+				.filter(p -> packageNames.stream().noneMatch(other -> p.startsWith(other + ".")))
+				.sorted()
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 *
+	 * @param name
+	 * @param roots
+	 * @return boolean
+	 */
+	private static boolean isInRoots(final String name, final List<String> roots) {
+		return roots.stream().anyMatch(r -> name.startsWith(r + "."));
+	}
+
+	/**
+	 *
+	 * @param classLoader
+	 * @param roots
+	 * @param filter
+	 * @param subTypes the direct subtypes of each type
+	 * @param profiler may be null
+	 * @return Map<Class<?>, Set<Class<?>>>
+	 */
+	private static Map<Class<?>, Set<Class<?>>> buildHierarchy(final ClassLoader classLoader, final List<String> roots, final Predicate<String> filter, final Map<String, Set<String>> subTypes, final StartupProfiler profiler) {
+		final Map<String, Optional<Class<?>>> classes = new HashMap<>();
+		final Map<Class<?>, Set<Class<?>>> hierarchy = new HashMap<>();
+		final Map<String, Long> packageTimes = new TreeMap<>();
+		final Function<String, Optional<Class<?>>> loader = profiler == null ? n -> ClasspathScanner.loadClass(classLoader, n) : n -> {
+			final long start = System.nanoTime();
+			final Optional<Class<?>> loadedClass = ClasspathScanner.loadClass(classLoader, n);
+			packageTimes.merge(n.lastIndexOf('.') > 0 ? n.substring(0, n.lastIndexOf('.')) : "", System.nanoTime() - start, Long::sum);
+			return loadedClass;
+		};
+
+		for (final String typeName : subTypes.keySet()) {
+			if (!ClasspathScanner.isInRoots(typeName, roots) || !filter.test(typeName)) {
+				continue;
+			}
+
+			final Class<?> type = classes.computeIfAbsent(typeName, loader).orElse(null);
+
+			if (type == null || !type.isInterface()) {
+				continue;
+			}
+
+			final Set<Class<?>> implementations = new LinkedHashSet<>();
+			final Set<String> visited = new HashSet<>();
+			final Deque<String> toVisit = new ArrayDeque<>(subTypes.get(typeName));
+
+			while (!toVisit.isEmpty()) {
+				final String subTypeName = toVisit.poll();
+
+				if (visited.add(subTypeName)) {
+					classes.computeIfAbsent(subTypeName, loader).ifPresent(implementations::add);
+					toVisit.addAll(subTypes.getOrDefault(subTypeName, Set.of()));
+				}
+			}
+
+			if (!implementations.isEmpty()) {
+				hierarchy.put(type, implementations);
+			}
+		}
+
+		if (profiler != null) {
+			packageTimes.forEach((packageName, nanos) -> profiler.record(Kind.PACKAGE, packageName, nanos));
+		}
+
+		return hierarchy;
+	}
+
+	/**
+	 *
+	 * @param classLoader
+	 * @param className
+	 * @return Optional<Class<?>>
+	 */
+	private static Optional<Class<?>> loadClass(final ClassLoader classLoader, final String className) {
+		try {
+			return Optional.of(Class.forName(className, false, classLoader));
+		} catch (ClassNotFoundException | LinkageError e) {
+			LOGGER.debug("Class {} cannot be loaded", className);
+			return Optional.empty();
+		}
+	}
+
+}
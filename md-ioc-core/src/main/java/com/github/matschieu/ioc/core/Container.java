@@ -1,19 +1,39 @@
 package com.github.matschieu.ioc.core;
 
-import java.lang.reflect.Method;
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import javax.inject.Singleton;
+import javax.enterprise.context.RequestScoped;
 
-import org.reflections.Reflections;
-import org.reflections.scanners.Scanners;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.matschieu.ioc.core.annotations.Startup;
+import com.github.matschieu.ioc.core.annotations.ThreadScoped;
+import com.github.matschieu.ioc.core.diagnostics.TraceEvent;
+import com.github.matschieu.ioc.core.diagnostics.TraceRecorder;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
 import com.github.matschieu.ioc.core.exceptions.InvocationException;
+import com.github.matschieu.ioc.core.metrics.ContainerMetrics;
+import com.github.matschieu.ioc.core.metrics.MetricsRecorder;
+import com.github.matschieu.ioc.core.metrics.PoolStatistics;
+import com.github.matschieu.ioc.core.profiling.StartupProfile;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Kind;
 
 /**
  *
@@ -24,34 +44,166 @@ public class Container {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(Container.class);
 
-	private static Container INSTANCE;
+	private static volatile Container INSTANCE;
+
+	private final ContainerConfiguration configuration;
+
+	private final MetricsRecorder metrics;
+
+	private final StartupProfiler profiler;
+
+	private final TraceRecorder trace;
 
 	private final Injector injector;
 
-	private final Map<Class<?>, Class<?>> applicationScope = new HashMap<>();
+	private final Map<Class<?>, List<Class<?>>> applicationScope;
+
+	private final SingletonRegistry singletonRegistry;
+
+	private final ThreadLocal<ScopeContext> requestContext = new ThreadLocal<>();
 
-	private final Map<Class<?>, Object> singletonInstance = new HashMap<>();
+	private final ThreadLocal<ScopeContext> threadContext = new ThreadLocal<>();
+
+	private final Map<Class<?>, BeanPool> pools = new ConcurrentHashMap<>();
 
 	/**
 	 *
+	 * @param configuration
 	 */
-	private Container() {
-		LOGGER.info("Starting bean management container");
-		this.discover();
+	private Container(final ContainerConfiguration configuration) {
+		LOGGER.info("Starting bean management container ({})", configuration);
+		this.configuration = configuration;
+		this.metrics = configuration.getMetricsRecorder();
+		this.profiler = configuration.isProfileStartup() ? new StartupProfiler() : null;
+		this.trace = configuration.getTraceCapacity() > 0 ? new TraceRecorder(configuration.getTraceCapacity()) : null;
+		this.singletonRegistry = new SingletonRegistry(this.metrics, this.profiler, this.trace);
+
+		final StartupProfiler.Span span = this.profiler != null ? this.profiler.start(Kind.DISCOVERY, "discovery") : null;
+		final long start = System.nanoTime();
+		final Path cacheFile = configuration.getStartupCache();
+		final byte[] fingerprint = cacheFile != null ? StartupCache.fingerprint(this.getClassLoader(), configuration) : null;
+		final StartupCache cache = cacheFile != null ? StartupCache.read(cacheFile, fingerprint, this.getClassLoader()) : null;
+
+		if (cache != null) {
+			LOGGER.info("Beans loaded from startup cache {}", cacheFile);
+			this.applicationScope = cache.getApplicationScope();
+
+			if (this.profiler != null) {
+				this.profiler.record(Kind.SCAN, cacheFile.toString(), System.nanoTime() - start);
+			}
+		} else {
+			this.applicationScope = this.discover();
+		}
+
+		this.metrics.recordDiscovery(System.nanoTime() - start, this.applicationScope.size());
+
+		if (span != null) {
+			span.end();
+		}
+
 		this.injector = new Injector(this);
+
+		if (cache != null) {
+			this.injector.preloadResolutions(cache.getResolutions());
+		} else if (cacheFile != null) {
+			StartupCache.write(cacheFile, fingerprint, this.applicationScope, this.injector.resolveApplicationScope());
+		}
+	}
+
+	/**
+	 * Initializes the singletons to create when the container starts. It is called once the container is published, so that these singletons
+	 * can call {@link #get()}: the call neither waits for the lock held while building the container nor builds another one.
+	 *
+	 * @return Container
+	 * @throws IllegalStateException if a singleton cannot be initialized
+	 */
+	private Container start() {
+		final List<Class<?>> startupSingletons = this.getSingletons(this.configuration.isEagerSingletons() ? c -> true : c -> c.isAnnotationPresent(Startup.class));
+
+		if (!startupSingletons.isEmpty()) {
+			try {
+				this.warmUp(startupSingletons);
+			} catch (final InvocationException e) {
+				throw new IllegalStateException("Cannot start the container", e);
+			}
+		}
+
+		return this;
+	}
+
+	/**
+	 * Starts the container returned by {@link #get()}, which is dropped if it cannot start so that the next call builds a new one
+	 *
+	 * @param container
+	 * @return Container
+	 */
+	private static Container start(final Container container) {
+		try {
+			return container.start();
+		} catch (final IllegalStateException e) {
+			synchronized (Container.class) {
+				if (INSTANCE == container) {
+					INSTANCE = null;
+				}
+			}
+			throw e;
+		}
 	}
 
 	/**
+	 * The container is built by the first caller, with the configuration read from the system properties. It is immutable once built
+	 * and published through a volatile field, so that the next calls do not take any lock. The singletons to create when it starts are
+	 * initialized once it is published, the other callers may get it meanwhile.
 	 *
-	 * @return BeanDiscovery
+	 * @return Container
 	 */
 	public static final Container get() {
-		synchronized (Injector.class) {
-			if (INSTANCE == null) {
-				INSTANCE = new Container();
+		Container container = INSTANCE;
+
+		if (container == null) {
+			synchronized (Container.class) {
+				container = INSTANCE;
+				if (container != null) {
+					return container;
+				}
+				container = new Container(ContainerConfiguration.fromSystemProperties());
+				INSTANCE = container;
+			}
+			return Container.start(container);
+		}
+
+		return container;
+	}
+
+	/**
+	 * Builds the container returned by {@link #get()} with an explicit configuration
+	 *
+	 * @param configuration
+	 * @return Container
+	 * @throws IllegalStateException if the container is already built
+	 */
+	public static final Container bootstrap(final ContainerConfiguration configuration) {
+		final Container container;
+
+		synchronized (Container.class) {
+			if (INSTANCE != null) {
+				throw new IllegalStateException("The container is already started");
 			}
+			container = new Container(configuration);
+			INSTANCE = container;
 		}
-		return INSTANCE;
+
+		return Container.start(container);
+	}
+
+	/**
+	 * Builds a container independent of the one returned by {@link #get()}
+	 *
+	 * @param configuration
+	 * @return Container
+	 */
+	public static final Container create(final ContainerConfiguration configuration) {
+		return new Container(configuration).start();
 	}
 
 	/**
@@ -64,67 +216,124 @@ public class Container {
 
 	/**
 	 *
-	 * @param packageName
-	 * @return boolean
+	 * @return ContainerConfiguration
 	 */
-	private boolean isExcludedPackage(final Package packageName) {
-		return packageName == null
-				|| packageName.getName().startsWith("sun.")
-				|| packageName.getName().startsWith("com.sun.")
-				|| packageName.getName().startsWith("jdk.")
-				|| packageName.getName().startsWith("java.")
-				|| packageName.getName().startsWith("javax.");
+	public ContainerConfiguration getConfiguration() {
+		return this.configuration;
 	}
 
 	/**
 	 *
-	 * @param packageName
-	 * @return Set<Class<?>>
+	 * @return MetricsRecorder
 	 */
-	private Set<Class<?>> findAllClasses(final String packageName) {
-		final Reflections reflections = new Reflections(packageName, Scanners.SubTypes.filterResultsBy(s -> true));
-		return reflections.getSubTypesOf(Object.class).stream().collect(Collectors.toSet());
+	MetricsRecorder getMetricsRecorder() {
+		return this.metrics;
 	}
 
 	/**
 	 *
+	 * @return StartupProfiler or null if the startup is not profiled
 	 */
-	private void discover() {
-		for (final Package package1 : Package.getPackages()) {
-			this.discover(package1);
-		}
+	StartupProfiler getProfiler() {
+		return this.profiler;
+	}
+
+	/**
+	 *
+	 * @return TraceRecorder the last events of the injector, or null if the trace is disabled
+	 */
+	public TraceRecorder getTraceRecorder() {
+		return this.trace;
 	}
 
 	/**
+	 * Records an error in the trace and logs the last events which led to it
 	 *
-	 * @param package1
+	 * @param type the type being injected
 	 */
-	private void discover(final Package package1) {
-		if (this.isExcludedPackage(package1)) {
-			return;
+	void dumpTrace(final Class<?> type) {
+		if (this.trace != null) {
+			this.trace.record(TraceEvent.Kind.ERROR, type, null, 0);
+			LOGGER.warn("Last events of the injector:{}{}", System.lineSeparator(), this.trace.dump());
 		}
+	}
 
-		LOGGER.debug("Scanning {}", package1.getName());
+	/**
+	 * Stops the profiling of the startup, so the steps done after the first call are not part of the profile
+	 *
+	 * @return StartupProfile or null if the startup is not profiled
+	 */
+	public StartupProfile getStartupProfile() {
+		return this.profiler != null ? this.profiler.stop() : null;
+	}
 
-		this.findAllClasses(package1.getName()).stream().forEach(c -> this.discover(c));
+	/**
+	 *
+	 * @return ContainerMetrics the metrics collected by the container, or null if its metrics recorder does not expose them
+	 */
+	public ContainerMetrics getMetrics() {
+		return this.metrics instanceof ContainerMetrics ? (ContainerMetrics)this.metrics : null;
 	}
 
 	/**
 	 *
-	 * @param clazz
+	 * @return ClassLoader
+	 */
+	private ClassLoader getClassLoader() {
+		if (this.configuration.getClassLoader() != null) {
+			return this.configuration.getClassLoader();
+		}
+
+		final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : Container.class.getClassLoader();
+	}
+
+	/**
+	 * Loads the beans from the indexes generated at compile time, and scans the base packages (or the loaded packages if there is none) in the
+	 * directories and jars without an index
+	 *
+	 * @return Map<Class<?>, List<Class<?>>> the immutable index of the implementations of each interface
 	 */
-	private <T> void discover(final Class<T> clazz) {
-		if (clazz.isInterface()) {
-			final Reflections reflections = new Reflections(clazz.getPackageName(), Scanners.SubTypes.filterResultsBy(s -> true));
-			reflections.getSubTypesOf(clazz).stream().forEach(impl -> this.applicationScope.put(impl, clazz));
+	private Map<Class<?>, List<Class<?>>> discover() {
+		final Map<Class<?>, Set<Class<?>>> beans = new HashMap<>();
+		final BiConsumer<Class<?>, Class<?>> register = (impl, interfaceClass) -> beans.computeIfAbsent(interfaceClass, c -> new LinkedHashSet<>()).add(impl);
+
+		final long start = System.nanoTime();
+
+		final Set<String> indexedUrls = BeanIndexReader.read(this.getClassLoader(), this.configuration::isIncluded, register);
+
+		if (!indexedUrls.isEmpty()) {
+			LOGGER.info("Beans loaded from {} in {}", BeanIndexReader.INDEX_LOCATION, indexedUrls);
+
+			if (this.profiler != null) {
+				this.profiler.record(Kind.SCAN, BeanIndexReader.INDEX_LOCATION, System.nanoTime() - start);
+			}
 		}
+
+		final List<String> packageNames = this.configuration.getBasePackages().isEmpty()
+				? Arrays.stream(Package.getPackages()).map(p -> p.getName()).filter(this.configuration::isIncluded).collect(Collectors.toList())
+				: this.configuration.getBasePackages();
+		ClasspathScanner.scan(this.getClassLoader(), packageNames, this.configuration::isIncluded, indexedUrls, this.profiler).forEach((interfaceClass, implementations) -> implementations.forEach(impl -> register.accept(impl, interfaceClass)));
+
+		return beans.entrySet().stream().collect(Collectors.toUnmodifiableMap(e -> e.getKey(), e -> List.copyOf(e.getValue())));
 	}
 
 	/**
-	 * @return the applicationScope
+	 * @return the applicationScope, an immutable index of the implementations of each interface
 	 */
-	public Map<Class<?>, Class<?>> getApplicationScope() {
-		return new HashMap<>(this.applicationScope);
+	public Map<Class<?>, List<Class<?>>> getApplicationScope() {
+		return this.applicationScope;
+	}
+
+	/**
+	 *
+	 * @param <T>
+	 * @param interfaceClass
+	 * @return List<Class<? extends T>> the immutable list of the implementations of the interface
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <T> List<Class<? extends T>> getImplementations(final Class<T> interfaceClass) {
+		return (List)this.applicationScope.getOrDefault(interfaceClass, List.of());
 	}
 
 	/**
@@ -132,31 +341,223 @@ public class Container {
 	 * @param clazz
 	 * @return T
 	 * @throws InvocationException
+	 * @throws IllegalArgumentException
 	 */
 	@SuppressWarnings("unchecked")
-	public <T> T getObjectInstance(final Class<T> clazz) throws InvocationException {
-		final T instance;
-
-		if (clazz.getDeclaredAnnotation(Singleton.class) != null) {
-			if (this.singletonInstance.containsKey(clazz)) {
-				instance = (T)this.singletonInstance.get(clazz);
-			} else {
-				try {
-					instance = clazz.getDeclaredConstructor().newInstance();
-					this.singletonInstance.put(clazz, instance);
-				} catch (final Exception e) {
-					throw new InvocationException(e);
-				}
+	public <T> T getObjectInstance(final Class<T> clazz) throws InvocationException, IllegalArgumentException {
+		if (SingletonRegistry.isSingleton(clazz)) {
+			return (T)this.singletonRegistry.get(clazz, this.injector);
+		}
+
+		final Class<? extends Annotation> scope = ScopeContext.scopeOf(clazz);
+
+		if (scope != null) {
+			return (T)this.getScopeContext(scope, clazz).get(clazz, this.injector);
+		}
+
+		if (BeanPool.isPooled(clazz)) {
+			return (T)this.getPool(clazz).borrow(this.injector);
+		}
+
+		if (!this.metrics.isEnabled() && this.profiler == null && this.trace == null) {
+			return (T)Instantiator.of(clazz).newInstance(this.injector);
+		}
+
+		final StartupProfiler.Span span = this.profiler != null ? this.profiler.start(Kind.CREATE, clazz.getName()) : null;
+		final long start = System.nanoTime();
+
+		try {
+			return (T)Instantiator.of(clazz).newInstance(this.injector);
+		} finally {
+			final long duration = System.nanoTime() - start;
+			this.metrics.recordInstantiation(clazz, duration);
+
+			if (this.trace != null) {
+				this.trace.record(TraceEvent.Kind.INSTANTIATION, clazz, null, duration);
 			}
-		} else {
-			try {
-				instance = clazz.getDeclaredConstructor().newInstance();
-			} catch (final Exception e) {
-				throw new InvocationException(e);
+
+			if (span != null) {
+				span.end();
 			}
 		}
+	}
 
-		return instance;
+	/**
+	 *
+	 * @param clazz
+	 * @return BeanPool
+	 */
+	private BeanPool getPool(final Class<?> clazz) {
+		final BeanPool pool = this.pools.get(clazz);
+		return pool != null ? pool : this.pools.computeIfAbsent(clazz, BeanPool::new);
+	}
+
+	/**
+	 * Gives an instance of a pooled bean back to its pool, once it is not used anymore. An instance released twice, or not injected by this
+	 * container, is ignored.
+	 *
+	 * @param bean
+	 * @return boolean true if the instance is kept for a next injection, false if it is dropped, if it is not borrowed from the pool or if it is not an instance of a pooled bean
+	 * @throws InvocationException if the reset method of the bean failed, the instance being dropped
+	 */
+	public boolean release(final Object bean) throws InvocationException {
+		if (bean == null || !BeanPool.isPooled(bean.getClass())) {
+			return false;
+		}
+		return this.getPool(bean.getClass()).release(bean);
+	}
+
+	/**
+	 *
+	 * @param clazz
+	 * @return PoolStatistics the statistics of the pool of the bean, or null if the bean is not pooled or has never been injected
+	 */
+	public PoolStatistics getPoolStatistics(final Class<?> clazz) {
+		final BeanPool pool = this.pools.get(clazz);
+		return pool != null ? pool.getStatistics() : null;
+	}
+
+	/**
+	 *
+	 * @param scope
+	 * @param clazz
+	 * @return ScopeContext the context of the scope active on the current thread, the thread context being begun if needed
+	 * @throws InvocationException if there is no active request context
+	 */
+	private ScopeContext getScopeContext(final Class<? extends Annotation> scope, final Class<?> clazz) throws InvocationException {
+		if (scope == ThreadScoped.class) {
+			ScopeContext context = this.threadContext.get();
+
+			if (context == null || context.isEnded()) {
+				context = new ScopeContext(ThreadScoped.class, this.threadContext);
+				context.activate();
+			}
+
+			return context;
+		}
+
+		final ScopeContext context = this.getRequestContext();
+
+		if (context == null) {
+			throw new InvocationException(String.format("Cannot create %s: no @%s context is active on the current thread", clazz.getName(), RequestScoped.class.getSimpleName()));
+		}
+
+		return context;
+	}
+
+	/**
+	 * Begins a request context and activates it on the current thread. The @RequestScoped beans are created once in the context, until it ends.
+	 *
+	 * @return ScopeContext
+	 * @throws IllegalStateException if a request context is already active on the current thread
+	 */
+	public ScopeContext beginRequest() {
+		if (this.getRequestContext() != null) {
+			throw new IllegalStateException("A request context is already active on the current thread");
+		}
+
+		final ScopeContext context = new ScopeContext(RequestScoped.class, this.requestContext);
+		context.activate();
+		return context;
+	}
+
+	/**
+	 *
+	 * @return ScopeContext the request context active on the current thread, or null if there is none
+	 */
+	public ScopeContext getRequestContext() {
+		final ScopeContext context = this.requestContext.get();
+
+		// The context may have been ended by another thread
+		if (context != null && context.isEnded()) {
+			this.requestContext.remove();
+			return null;
+		}
+
+		return context;
+	}
+
+	/**
+	 * Ends the thread context of the current thread, releasing its @ThreadScoped instances. The next injections on the thread begin a new one.
+	 */
+	public void endThreadScope() {
+		final ScopeContext context = this.threadContext.get();
+
+		if (context != null) {
+			context.end();
+		}
+	}
+
+	/**
+	 * Creates and initializes the singletons of the application scope which are not ready yet, along with the singletons they depend on.
+	 * The independent singletons are initialized concurrently on the initialization executor, in the order of their dependencies.
+	 *
+	 * @throws InvocationException if at least one singleton cannot be initialized, the errors being added as suppressed exceptions
+	 */
+	public void initializeSingletons() throws InvocationException {
+		this.warmUp(this.getSingletons(c -> true));
+	}
+
+	/**
+	 *
+	 * @param filter
+	 * @return List<Class<?>> the singletons of the application scope accepted by the filter
+	 */
+	private List<Class<?>> getSingletons(final Predicate<Class<?>> filter) {
+		return this.applicationScope.values().stream()
+				.flatMap(List::stream)
+				.filter(SingletonRegistry::isSingleton)
+				.filter(filter)
+				.distinct()
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Initializes the singletons and reports the time it took
+	 *
+	 * @param singletons
+	 * @throws InvocationException
+	 */
+	private void warmUp(final List<Class<?>> singletons) throws InvocationException {
+		final Executor configuredExecutor = this.configuration.getInitializationExecutor();
+		final ExecutorService pool = configuredExecutor == null ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : null;
+		final StartupProfiler.Span span = this.profiler != null ? this.profiler.start(Kind.WARM_UP, "warm-up") : null;
+		final long start = System.nanoTime();
+
+		try {
+			final int count = new SingletonInitializer(this).initialize(singletons, configuredExecutor != null ? configuredExecutor : pool);
+			final long nanos = System.nanoTime() - start;
+			this.metrics.recordWarmUp(nanos, count);
+			LOGGER.info("{} singletons initialized in {} ms", count, TimeUnit.NANOSECONDS.toMillis(nanos));
+		} finally {
+			if (span != null) {
+				span.end();
+			}
+
+			if (pool != null) {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return boolean true if the bean is the singleton instance of its class
+	 */
+	boolean isManagedSingleton(final Object bean) {
+		return this.singletonRegistry.contains(bean);
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return boolean true if the bean is the instance of its class in the context of its scope active on the current thread
+	 */
+	boolean isManagedScopedBean(final Object bean) {
+		final Class<? extends Annotation> scope = ScopeContext.scopeOf(bean.getClass());
+		final ScopeContext context = scope == ThreadScoped.class ? this.threadContext.get() : scope != null ? this.getRequestContext() : null;
+		return context != null && context.contains(bean);
 	}
 
 	/**
@@ -166,12 +567,11 @@ public class Container {
 	 */
 	public Object initComponent(final Object instance) {
 		try {
-			final Method initMethod = this.getInjector().getClass().getDeclaredMethod("initBean", Object.class);
-			if (initMethod.trySetAccessible()) {
-				return initMethod.invoke(this.injector, instance);
-			}
+			// The instances of a pooled bean are initialized by the pool, except the ones created by the application
+			return this.injector.ready(instance != null && BeanPool.isPooled(instance.getClass()) ? this.injector.initialize(instance) : this.injector.initBean(instance));
 		} catch (final Exception e) {
 			LOGGER.error(e.getMessage(), e);
+			this.dumpTrace(instance != null ? instance.getClass() : null);
 		}
 		return instance;
 	}
@@ -0,0 +1,439 @@
+package com.github.matschieu.ioc.core;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.github.matschieu.ioc.core.metrics.InMemoryMetricsRecorder;
+import com.github.matschieu.ioc.core.metrics.MetricsRecorder;
+
+/**
+ * Bootstrap configuration of a container, built with {@link #builder()} or read by {@link #fromSystemProperties()}. Each option is described on its
+ * builder method.
+ *
+ * @author Matschieu
+ *
+ */
+public final class ContainerConfiguration {
+
+	public static final String BASE_PACKAGES_PROPERTY = "md-ioc.base-packages";
+
+	public static final String INCLUDES_PROPERTY = "md-ioc.includes";
+
+	public static final String EXCLUDES_PROPERTY = "md-ioc.excludes";
+
+	public static final String METRICS_PROPERTY = "md-ioc.metrics";
+
+	public static final String PROFILE_STARTUP_PROPERTY = "md-ioc.profile-startup";
+
+	public static final String STARTUP_CACHE_PROPERTY = "md-ioc.startup-cache";
+
+	public static final String EAGER_SINGLETONS_PROPERTY = "md-ioc.eager-singletons";
+
+	public static final String ASYNC_POST_CONSTRUCT_PROPERTY = "md-ioc.async-post-construct";
+
+	public static final String TRACE_CAPACITY_PROPERTY = "md-ioc.trace-capacity";
+
+	public static final String LOG_INJECTIONS_PROPERTY = "md-ioc.log-injections";
+
+	public static final int DEFAULT_TRACE_CAPACITY = 0;
+
+	private static final List<String> DEFAULT_EXCLUDES = List.of("sun", "com.sun", "jdk", "java", "javax");
+
+	private final ClassLoader classLoader;
+
+	private final List<String> basePackages;
+
+	private final List<String> includes;
+
+	private final List<String> excludes;
+
+	private final MetricsRecorder metricsRecorder;
+
+	private final boolean profileStartup;
+
+	private final Path startupCache;
+
+	private final boolean eagerSingletons;
+
+	private final Executor initializationExecutor;
+
+	private final boolean asyncPostConstruct;
+
+	private final int traceCapacity;
+
+	private final boolean logInjections;
+
+	/**
+	 *
+	 * @param builder
+	 */
+	private ContainerConfiguration(final Builder builder) {
+		this.classLoader = builder.classLoader;
+		this.basePackages = List.copyOf(builder.basePackages);
+		this.includes = List.copyOf(builder.includes);
+		this.excludes = List.copyOf(builder.excludes);
+		this.metricsRecorder = builder.metricsRecorder;
+		this.profileStartup = builder.profileStartup;
+		this.startupCache = builder.startupCache;
+		this.eagerSingletons = builder.eagerSingletons;
+		this.initializationExecutor = builder.initializationExecutor;
+		this.asyncPostConstruct = builder.asyncPostConstruct;
+		this.traceCapacity = builder.traceCapacity;
+		this.logInjections = builder.logInjections;
+	}
+
+	/**
+	 *
+	 * @return Builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Reads the configuration from the system properties md-ioc.base-packages, md-ioc.includes and md-ioc.excludes, each one being a comma separated list.
+	 * The metrics are kept in memory if the system property md-ioc.metrics is true, the startup is profiled if md-ioc.profile-startup is true.
+	 * The startup cache is the file md-ioc.startup-cache, if set. The singletons are initialized when the container starts if md-ioc.eager-singletons is true.
+	 * The post construct methods run asynchronously if md-ioc.async-post-construct is true.
+	 * The trace keeps the last md-ioc.trace-capacity events if it is positive, and the injections are logged if md-ioc.log-injections is true.
+	 *
+	 * @return ContainerConfiguration
+	 */
+	public static ContainerConfiguration fromSystemProperties() {
+		return builder()
+				.basePackages(ContainerConfiguration.getListProperty(BASE_PACKAGES_PROPERTY))
+				.include(ContainerConfiguration.getListProperty(INCLUDES_PROPERTY))
+				.exclude(ContainerConfiguration.getListProperty(EXCLUDES_PROPERTY))
+				.metricsRecorder(Boolean.getBoolean(METRICS_PROPERTY) ? new InMemoryMetricsRecorder() : MetricsRecorder.NOOP)
+				.profileStartup(Boolean.getBoolean(PROFILE_STARTUP_PROPERTY))
+				.startupCache(System.getProperty(STARTUP_CACHE_PROPERTY, "").isBlank() ? null : Paths.get(System.getProperty(STARTUP_CACHE_PROPERTY).trim()))
+				.eagerSingletons(Boolean.getBoolean(EAGER_SINGLETONS_PROPERTY))
+				.asyncPostConstruct(Boolean.getBoolean(ASYNC_POST_CONSTRUCT_PROPERTY))
+				.traceCapacity(Integer.getInteger(TRACE_CAPACITY_PROPERTY, DEFAULT_TRACE_CAPACITY))
+				.logInjections(Boolean.getBoolean(LOG_INJECTIONS_PROPERTY))
+				.build();
+	}
+
+	/**
+	 *
+	 * @param name
+	 * @return String[]
+	 */
+	private static String[] getListProperty(final String name) {
+		return Arrays.stream(System.getProperty(name, "").split(",")).map(s -> s.trim()).filter(s -> !s.isEmpty()).toArray(String[]::new);
+	}
+
+	/**
+	 *
+	 * @param name
+	 * @param patterns
+	 * @return boolean
+	 */
+	private static boolean matches(final String name, final List<String> patterns) {
+		for (final String pattern : patterns) {
+			if (name.equals(pattern) || name.startsWith(pattern + ".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @param name a package or a class name
+	 * @return boolean
+	 */
+	public boolean isIncluded(final String name) {
+		return !ContainerConfiguration.matches(name, this.excludes) && (this.includes.isEmpty() || ContainerConfiguration.matches(name, this.includes));
+	}
+
+	/**
+	 *
+	 * @return ClassLoader the class loader to discover the beans with, or null to use the context class loader
+	 */
+	public ClassLoader getClassLoader() {
+		return this.classLoader;
+	}
+
+	/**
+	 *
+	 * @return List<String>
+	 */
+	public List<String> getBasePackages() {
+		return this.basePackages;
+	}
+
+	/**
+	 *
+	 * @return List<String>
+	 */
+	public List<String> getIncludes() {
+		return this.includes;
+	}
+
+	/**
+	 *
+	 * @return List<String> the exclude patterns, including the packages of the JDK
+	 */
+	public List<String> getExcludes() {
+		return this.excludes;
+	}
+
+	/**
+	 *
+	 * @return MetricsRecorder
+	 */
+	public MetricsRecorder getMetricsRecorder() {
+		return this.metricsRecorder;
+	}
+
+	/**
+	 *
+	 * @return boolean
+	 */
+	public boolean isProfileStartup() {
+		return this.profileStartup;
+	}
+
+	/**
+	 *
+	 * @return Path the startup cache file, or null if there is no cache
+	 */
+	public Path getStartupCache() {
+		return this.startupCache;
+	}
+
+	/**
+	 *
+	 * @return boolean true if the singletons are initialized when the container starts
+	 */
+	public boolean isEagerSingletons() {
+		return this.eagerSingletons;
+	}
+
+	/**
+	 *
+	 * @return Executor the executor initializing the singletons, or null to use a pool created for the startup
+	 */
+	public Executor getInitializationExecutor() {
+		return this.initializationExecutor;
+	}
+
+	/**
+	 *
+	 * @return boolean true if the post construct methods run asynchronously
+	 */
+	public boolean isAsyncPostConstruct() {
+		return this.asyncPostConstruct;
+	}
+
+	/**
+	 *
+	 * @return int the number of events kept by the trace, 0 if there is no trace
+	 */
+	public int getTraceCapacity() {
+		return this.traceCapacity;
+	}
+
+	/**
+	 *
+	 * @return boolean true if each injection is logged
+	 */
+	public boolean isLogInjections() {
+		return this.logInjections;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("basePackages=%s, includes=%s, excludes=%s, metrics=%s, profileStartup=%s, startupCache=%s, eagerSingletons=%s, asyncPostConstruct=%s, traceCapacity=%d, logInjections=%s", this.basePackages, this.includes, this.excludes, this.metricsRecorder.isEnabled(), this.profileStartup, this.startupCache, this.eagerSingletons, this.asyncPostConstruct, this.traceCapacity, this.logInjections);
+	}
+
+	/**
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	public static final class Builder {
+
+		private ClassLoader classLoader;
+
+		private final List<String> basePackages = new ArrayList<>();
+
+		private final List<String> includes = new ArrayList<>();
+
+		private final List<String> excludes = new ArrayList<>(DEFAULT_EXCLUDES);
+
+		private MetricsRecorder metricsRecorder = MetricsRecorder.NOOP;
+
+		private boolean profileStartup;
+
+		private Path startupCache;
+
+		private boolean eagerSingletons;
+
+		private Executor initializationExecutor;
+
+		private boolean asyncPostConstruct;
+
+		private int traceCapacity = DEFAULT_TRACE_CAPACITY;
+
+		private boolean logInjections;
+
+		/**
+		 *
+		 */
+		private Builder() {}
+
+		/**
+		 *
+		 * @param classLoader
+		 * @return Builder
+		 */
+		public Builder classLoader(final ClassLoader classLoader) {
+			this.classLoader = classLoader;
+			return this;
+		}
+
+		/**
+		 * The base packages are the roots of the classpath scan, the packages loaded when the container starts are scanned if there is none.
+		 *
+		 * @param packageNames
+		 * @return Builder
+		 */
+		public Builder basePackages(final String... packageNames) {
+			this.basePackages.addAll(Arrays.asList(packageNames));
+			return this;
+		}
+
+		/**
+		 * The include patterns are package or class names, matching the classes of the package or the class itself. When there is at least one,
+		 * a class is discovered only if it matches one of them.
+		 *
+		 * @param patterns
+		 * @return Builder
+		 */
+		public Builder include(final String... patterns) {
+			this.includes.addAll(Arrays.asList(patterns));
+			return this;
+		}
+
+		/**
+		 * The exclude patterns are package or class names, matching the classes of the package or the class itself. A class matching one of them
+		 * is not discovered. The packages of the JDK are excluded by default.
+		 *
+		 * @param patterns
+		 * @return Builder
+		 */
+		public Builder exclude(final String... patterns) {
+			this.excludes.addAll(Arrays.asList(patterns));
+			return this;
+		}
+
+		/**
+		 * The metrics recorder receives the events of the container, they are ignored by default.
+		 *
+		 * @param metricsRecorder null to ignore the metrics
+		 * @return Builder
+		 */
+		public Builder metricsRecorder(final MetricsRecorder metricsRecorder) {
+			this.metricsRecorder = metricsRecorder != null ? metricsRecorder : MetricsRecorder.NOOP;
+			return this;
+		}
+
+		/**
+		 * The startup profiling records the time of each step of the discovery and of the creation of the beans, it is disabled by default.
+		 *
+		 * @param profileStartup
+		 * @return Builder
+		 */
+		public Builder profileStartup(final boolean profileStartup) {
+			this.profileStartup = profileStartup;
+			return this;
+		}
+
+		/**
+		 * The startup cache is a file storing the discovered beans and their resolutions, reused by the next starts as long as the classpath does
+		 * not change. There is no cache by default.
+		 *
+		 * @param startupCache the cache file, null to disable the cache
+		 * @return Builder
+		 */
+		public Builder startupCache(final Path startupCache) {
+			this.startupCache = startupCache;
+			return this;
+		}
+
+		/**
+		 * In eager mode, the discovered singletons are created and initialized when the container starts, the independent ones concurrently on the
+		 * initialization executor. Otherwise the singletons are created on demand, except the ones annotated with
+		 * {@link com.github.matschieu.ioc.core.annotations.Startup}.
+		 *
+		 * @param eagerSingletons
+		 * @return Builder
+		 */
+		public Builder eagerSingletons(final boolean eagerSingletons) {
+			this.eagerSingletons = eagerSingletons;
+			return this;
+		}
+
+		/**
+		 * By default, the singletons are initialized in eager mode on a pool sized after the number of processors and shut down once they are ready.
+		 *
+		 * @param initializationExecutor the executor initializing the singletons in eager mode, null to use a pool created for the startup
+		 * @return Builder
+		 */
+		public Builder initializationExecutor(final Executor initializationExecutor) {
+			this.initializationExecutor = initializationExecutor;
+			return this;
+		}
+
+		/**
+		 * The post construct methods run asynchronously if enabled, the injector waiting for a bean only when it is actually needed.
+		 * They run on the injecting thread by default.
+		 *
+		 * @param asyncPostConstruct
+		 * @return Builder
+		 */
+		public Builder asyncPostConstruct(final boolean asyncPostConstruct) {
+			this.asyncPostConstruct = asyncPostConstruct;
+			return this;
+		}
+
+		/**
+		 * The last events of the injector can be kept in a trace, dumped when an injection fails. There is no trace by default, as each event
+		 * recorded is timed and takes a slot of the trace shared by all the threads.
+		 *
+		 * @param traceCapacity the number of events kept by the trace, 0 to disable the trace
+		 * @return Builder
+		 */
+		public Builder traceCapacity(final int traceCapacity) {
+			this.traceCapacity = Math.max(0, traceCapacity);
+			return this;
+		}
+
+		/**
+		 * The injections are logged only if enabled, the trace being cheaper.
+		 *
+		 * @param logInjections
+		 * @return Builder
+		 */
+		public Builder logInjections(final boolean logInjections) {
+			this.logInjections = logInjections;
+			return this;
+		}
+
+		/**
+		 *
+		 * @return ContainerConfiguration
+		 */
+		public ContainerConfiguration build() {
+			return new ContainerConfiguration(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Key of a map identifying a bean by reference, without preventing it from being garbage collected.
+ * The keys of the beans collected are enqueued in the queue they are created with, to be removed from the map.
+ *
+ * @author Matschieu
+ *
+ */
+final class IdentityKey extends WeakReference<Object> {
+
+	private final int hashCode;
+
+	/**
+	 * Creates a key to look up a bean
+	 *
+	 * @param bean
+	 */
+	IdentityKey(final Object bean) {
+		this(bean, null);
+	}
+
+	/**
+	 * Creates a key to store a bean
+	 *
+	 * @param bean
+	 * @param queue the queue of the keys of the beans collected
+	 */
+	IdentityKey(final Object bean, final ReferenceQueue<Object> queue) {
+		super(bean, queue);
+		this.hashCode = System.identityHashCode(bean);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof IdentityKey)) {
+			return false;
+		}
+		final Object bean = this.get();
+		return bean != null && bean == ((IdentityKey)obj).get();
+	}
+
+}
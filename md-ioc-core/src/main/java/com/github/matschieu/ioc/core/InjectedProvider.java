@@ -0,0 +1,64 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+
+import javax.inject.Provider;
+
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+import com.github.matschieu.ioc.core.exceptions.ProvisionException;
+
+/**
+ * Provider of the instances of a type, resolved once when the provider is created: the instances are created and initialized only when
+ * {@link #get()} is called. The errors are thrown as {@link ProvisionException}.
+ *
+ * @author Matschieu
+ *
+ * @param <T>
+ */
+final class InjectedProvider<T> implements Provider<T> {
+
+	private final Container container;
+
+	private final Injector injector;
+
+	private final Class<T> type;
+
+	private final Annotation[] qualifiers;
+
+	private final Resolution resolution;
+
+	/**
+	 *
+	 * @param container
+	 * @param injector
+	 * @param type
+	 * @param qualifiers
+	 * @param resolution
+	 */
+	InjectedProvider(final Container container, final Injector injector, final Class<T> type, final Annotation[] qualifiers, final Resolution resolution) {
+		this.container = container;
+		this.injector = injector;
+		this.type = type;
+		this.qualifiers = qualifiers;
+		this.resolution = resolution;
+	}
+
+	@Override
+	public T get() {
+		try {
+			final Class<? extends T> implementation = this.resolution.get();
+			return implementation != null ? this.type.cast(this.injector.ready(this.injector.initBean(this.container.getObjectInstance(implementation)))) : null;
+		} catch (InvocationException | DefinitionException | IllegalArgumentException e) {
+			throw new ProvisionException(String.format("Cannot provide an instance of %s", this.type.getName()), e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Provider<%s>%s", this.type.getName(), Arrays.toString(this.qualifiers));
+	}
+
+}
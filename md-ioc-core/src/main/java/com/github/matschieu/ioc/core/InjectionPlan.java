@@ -0,0 +1,288 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ * Immutable description of how to initialize the beans of a class: its injection points and its post construct method.
+ * The plan of a class is built once, on first use, so that initializing a bean does not need reflection anymore.
+ *
+ * @author Matschieu
+ *
+ */
+final class InjectionPlan {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(InjectionPlan.class);
+
+	private static final ClassValue<InjectionPlan> PLANS = new ClassValue<>() {
+		@Override
+		protected InjectionPlan computeValue(final Class<?> type) {
+			return new InjectionPlan(type);
+		}
+	};
+
+	private final List<InjectionPoint> injectionPoints;
+
+	private final MethodHandle postConstruct;
+
+	private final Exception postConstructError;
+
+	/**
+	 *
+	 * @param type
+	 */
+	private InjectionPlan(final Class<?> type) {
+		final List<InjectionPoint> points = new ArrayList<>();
+
+		for (final Field field : type.getDeclaredFields()) {
+			if (field.getDeclaredAnnotation(Inject.class) != null) {
+				points.add(new InjectionPoint(field));
+			}
+		}
+
+		MethodHandle method = null;
+		Exception error = null;
+
+		try {
+			method = BeanHandler.findPostConstruct(type);
+		} catch (InvocationException | DefinitionException e) {
+			error = e;
+		}
+
+		this.injectionPoints = List.copyOf(points);
+		this.postConstruct = method;
+		this.postConstructError = error;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return InjectionPlan
+	 */
+	static InjectionPlan of(final Class<?> type) {
+		return PLANS.get(type);
+	}
+
+	/**
+	 *
+	 * @return List<InjectionPoint>
+	 */
+	List<InjectionPoint> getInjectionPoints() {
+		return this.injectionPoints;
+	}
+
+	/**
+	 *
+	 * @return boolean true if the class has a valid post construct method
+	 */
+	boolean hasPostConstruct() {
+		return this.postConstruct != null;
+	}
+
+	/**
+	 *
+	 * @return MethodHandle the post construct method taking the bean as an Object, or null if there is none
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 */
+	MethodHandle getPostConstruct() throws InvocationException, DefinitionException {
+		if (this.postConstructError instanceof DefinitionException) {
+			throw new DefinitionException(this.postConstructError.getMessage());
+		}
+		if (this.postConstructError != null) {
+			throw new InvocationException(this.postConstructError.getMessage());
+		}
+		return this.postConstruct;
+	}
+
+	/**
+	 * A field annotated with @Inject, its type being the type of the provided instances for a Provider field
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	static final class InjectionPoint {
+
+		private final String name;
+
+		private final Class<?> type;
+
+		private final boolean provider;
+
+		private final Annotation[] qualifiers;
+
+		private final ResolutionKey key;
+
+		private final MethodHandle setter;
+
+		/**
+		 *
+		 * @param field
+		 */
+		private InjectionPoint(final Field field) {
+			this(field.getDeclaringClass(), field.getName(), field.getType(), field.getGenericType(), field.getDeclaredAnnotations(), InjectionPoint.findSetter(field));
+		}
+
+		/**
+		 *
+		 * @param declaringClass
+		 * @param name
+		 * @param rawType
+		 * @param genericType
+		 * @param annotations
+		 * @param setter null for a constructor parameter
+		 */
+		private InjectionPoint(final Class<?> declaringClass, final String name, final Class<?> rawType, final Type genericType, final Annotation[] annotations, final MethodHandle setter) {
+			this.name = name;
+			this.provider = rawType == Provider.class;
+			this.type = this.provider ? InjectionPoint.getProvidedType(declaringClass, name, genericType) : rawType;
+			this.qualifiers = Arrays.stream(annotations).filter(a -> BeanHandler.isQualifier(a)).toArray(Annotation[]::new);
+			this.key = this.type != null ? new ResolutionKey(this.type, this.qualifiers) : null;
+			this.setter = setter;
+		}
+
+		/**
+		 *
+		 * @param constructor
+		 * @return List<InjectionPoint> the parameters of the constructor
+		 */
+		static List<InjectionPoint> of(final Constructor<?> constructor) {
+			final List<InjectionPoint> points = new ArrayList<>();
+
+			for (final Parameter parameter : constructor.getParameters()) {
+				points.add(new InjectionPoint(constructor.getDeclaringClass(), parameter.getName(), parameter.getType(), parameter.getParameterizedType(), parameter.getDeclaredAnnotations(), null));
+			}
+
+			return List.copyOf(points);
+		}
+
+		/**
+		 *
+		 * @param declaringClass
+		 * @param name
+		 * @param genericType the type of a Provider
+		 * @return Class<?> the type argument of the provider, or null if it is a raw type
+		 */
+		private static Class<?> getProvidedType(final Class<?> declaringClass, final String name, final Type genericType) {
+			if (genericType instanceof ParameterizedType) {
+				Type providedType = ((ParameterizedType)genericType).getActualTypeArguments()[0];
+
+				if (providedType instanceof ParameterizedType) {
+					providedType = ((ParameterizedType)providedType).getRawType();
+				}
+
+				if (providedType instanceof Class) {
+					return (Class<?>)providedType;
+				}
+			}
+
+			LOGGER.error("{}.{} must be a Provider of a class", declaringClass.getName(), name);
+			return null;
+		}
+
+		/**
+		 *
+		 * @param field
+		 * @return MethodHandle the setter taking the bean and the value as Objects, or null if the field is not accessible
+		 */
+		private static MethodHandle findSetter(final Field field) {
+			if (!field.trySetAccessible()) {
+				LOGGER.error("Field {}.{} is not accessible", field.getDeclaringClass().getName(), field.getName());
+				return null;
+			}
+
+			try {
+				MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+
+				if (Modifier.isStatic(field.getModifiers())) {
+					setter = MethodHandles.dropArguments(setter, 0, Object.class);
+				}
+
+				return setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			} catch (final IllegalAccessException e) {
+				LOGGER.error(e.getMessage(), e);
+				return null;
+			}
+		}
+
+		/**
+		 *
+		 * @return String
+		 */
+		String getName() {
+			return this.name;
+		}
+
+		/**
+		 *
+		 * @return Class<?> the type to inject, or null for a provider of an unknown type
+		 */
+		Class<?> getType() {
+			return this.type;
+		}
+
+		/**
+		 *
+		 * @return boolean true if the field is a Provider
+		 */
+		boolean isProvider() {
+			return this.provider;
+		}
+
+		/**
+		 *
+		 * @return Annotation[]
+		 */
+		Annotation[] getQualifiers() {
+			return this.qualifiers;
+		}
+
+		/**
+		 *
+		 * @return ResolutionKey
+		 */
+		ResolutionKey getKey() {
+			return this.key;
+		}
+
+		/**
+		 *
+		 * @param bean
+		 * @param value
+		 * @throws InvocationException
+		 */
+		void set(final Object bean, final Object value) throws InvocationException {
+			if (this.setter == null) {
+				throw new InvocationException(String.format("Field %s.%s is not accessible", bean.getClass().getName(), this.name));
+			}
+
+			try {
+				this.setter.invokeExact(bean, value);
+			} catch (final Throwable e) {
+				throw new InvocationException(e);
+			}
+		}
+
+	}
+
+}
@@ -1,24 +1,33 @@
 package com.github.matschieu.ioc.core;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.enterprise.inject.Default;
-import javax.inject.Inject;
-import javax.inject.Named;
-import javax.inject.Qualifier;
+import javax.inject.Provider;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.matschieu.ioc.core.InjectionPlan.InjectionPoint;
+import com.github.matschieu.ioc.core.diagnostics.TraceEvent;
+import com.github.matschieu.ioc.core.diagnostics.TraceRecorder;
 import com.github.matschieu.ioc.core.exceptions.DefinitionException;
 import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
 import com.github.matschieu.ioc.core.exceptions.InvocationException;
+import com.github.matschieu.ioc.core.metrics.MetricsRecorder;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Kind;
 
 /**
  *
@@ -31,12 +40,31 @@ public class Injector {
 
 	private final Container container;
 
+	private final MetricsRecorder metrics;
+
+	private final StartupProfiler profiler;
+
+	private final Map<ResolutionKey, Resolution> resolutionCache = new ConcurrentHashMap<>();
+
+	private final Map<ResolutionKey, Provider<?>> providers = new ConcurrentHashMap<>();
+
+	private final AsyncLifecycle lifecycle;
+
+	private final TraceRecorder trace;
+
+	private final boolean logInjections;
+
 	/**
 	 *
 	 * @param container
 	 */
 	public Injector(final Container container) {
 		this.container = container;
+		this.metrics = container.getMetricsRecorder();
+		this.profiler = container.getProfiler();
+		this.lifecycle = container.getConfiguration().isAsyncPostConstruct() ? new AsyncLifecycle() : null;
+		this.trace = container.getTraceRecorder();
+		this.logInjections = container.getConfiguration().isLogInjections();
 	}
 
 	/**
@@ -49,20 +77,65 @@ public class Injector {
 	 * @throws IllegalArgumentException
 	 */
 	public <T> T inject(final Class<T> clazz, final Annotation... qualifiers) throws InvocationException, IllegalArgumentException {
+		if (this.profiler == null) {
+			return this.doInject(clazz, qualifiers);
+		}
+
+		final StartupProfiler.Span span = this.profiler.start(Kind.INJECT, String.valueOf(clazz != null ? clazz.getName() : null));
+
+		try {
+			return this.doInject(clazz, qualifiers);
+		} finally {
+			span.end();
+		}
+	}
+
+	/**
+	 * Injects an instance without waiting for the asynchronous post construct methods, when enabled by the configuration
+	 *
+	 * @param <T>
+	 * @param clazz
+	 * @param qualifiers
+	 * @return CompletableFuture<T> completed with the instance once it is ready, i.e. once its post construct method and the ones of the beans injected in it have returned
+	 */
+	public <T> CompletableFuture<T> injectAsync(final Class<T> clazz, final Annotation... qualifiers) {
+		try {
+			final T instance = this.instanceOf(clazz, qualifiers);
+			this.initBean(instance);
+			return this.readiness(instance).thenApply(v -> instance);
+		} catch (InvocationException | DefinitionException | IllegalArgumentException e) {
+			LOGGER.error(e.getMessage(), e);
+			this.container.dumpTrace(clazz);
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 *
+	 * @param <T>
+	 * @param clazz
+	 * @param qualifiers
+	 * @return T
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	private <T> T doInject(final Class<T> clazz, final Annotation... qualifiers) throws InvocationException, IllegalArgumentException {
 		T instance = null;
 
 		try {
 			instance = this.instanceOf(clazz, qualifiers);
 		} catch (InvocationException | IllegalArgumentException e) {
 			LOGGER.error(e.getMessage(), e);
+			this.container.dumpTrace(clazz);
 			throw e;
 		}
 
 		if (instance != null) {
 			try {
-				this.initBean(instance);
+				this.ready(this.initBean(instance));
 			} catch (InvocationException | DefinitionException | IllegalArgumentException e) {
 				LOGGER.warn(e.getMessage(), e);
+				this.container.dumpTrace(clazz);
 			}
 		}
 
@@ -71,69 +144,229 @@ public class Injector {
 
 	/**
 	 *
-	 * @param beanClass
+	 * @param <T>
+	 * @param interfaceClass
+	 * @param implementations
 	 * @param qualifiers
-	 * @return boolean
+	 * @return T
+	 * @throws IllegalArgumentException
 	 */
-	private boolean hasQualifiers(final Class<?> beanClass, final List<Annotation> qualifiers) {
-		final List<Annotation> beanQualifiers = Arrays.asList(beanClass.getDeclaredAnnotations()).stream().filter(a -> this.isQualifier(a)).collect(Collectors.toList());
+	private <T> Class<? extends T> getByQualifiers(final Class<T> interfaceClass, final List<Class<? extends T>> implementations, final QualifierKey qualifiers) throws IllegalArgumentException {
+		Class<? extends T> foundImplementation = null;
 
-		if (beanQualifiers.size() != qualifiers.size()) {
-			return false;
+		for(final var impl : implementations) {
+			if (QualifierKey.ofBean(impl).equals(qualifiers)) {
+				if (foundImplementation != null) {
+					throw new IllegalArgumentException(String.format("Ambiguous dependencies for type %s with qualifiers %s", interfaceClass.getName(), qualifiers));
+				}
+				foundImplementation = impl;
+			}
 		}
 
-		final var sortedBeanQualifiers = beanQualifiers.stream().map(a -> a.annotationType()).collect(Collectors.toList());
-		final var sortedQualifiers = qualifiers.stream().map(a -> a.annotationType()).collect(Collectors.toList());
+		return foundImplementation;
+	}
 
-		for(final var annotation : sortedBeanQualifiers) {
-			if (!sortedQualifiers.contains(annotation)) {
-				return false;
+	/**
+	 *
+	 * @param <T>
+	 * @param clazz
+	 * @param qualifierKey the canonical qualifiers
+	 * @param qualifiers
+	 * @return Class<? extends T>
+	 * @throws IllegalArgumentException
+	 */
+	private <T> Class<? extends T> findImplementation(final Class<T> clazz, final QualifierKey qualifierKey, final Annotation... qualifiers) throws IllegalArgumentException {
+		for(final Annotation annotation : qualifiers) {
+			if (!BeanHandler.isQualifier(annotation)) {
+				throw new IllegalArgumentException(String.format("Bad qualifier @%s for class %s", annotation.annotationType().getSimpleName(), clazz.getName()));
 			}
 		}
 
-		final var namedBeanQualifiers = beanQualifiers.stream().filter(a -> a.annotationType() == Named.class).map(a -> (Named)a).collect(Collectors.toList());
-		final var namedQualifiers = qualifiers.stream().filter(a -> a.annotationType() == Named.class).map(a -> (Named)a).collect(Collectors.toList());
+		final List<Class<? extends T>> implementations = this.container.getImplementations(clazz);
+		Class<? extends T> foundImplementation = null;
 
-		if (namedBeanQualifiers.size() > 1 || namedQualifiers.size() > 1 || namedBeanQualifiers.size() != namedQualifiers.size()) {
-			return false;
+		if (implementations.size() == 0 && !clazz.isInterface()) {
+			foundImplementation = clazz;
 		}
 
-		if (!namedBeanQualifiers.isEmpty() && !namedQualifiers.isEmpty() && !namedBeanQualifiers.get(0).value().equals(namedQualifiers.get(0).value())) {
-			return false;
+		if (implementations.size() == 1) {
+			foundImplementation = implementations.get(0);
+		}
+
+		if (foundImplementation != null && !qualifierKey.isEmpty() && !QualifierKey.ofBean(foundImplementation).equals(qualifierKey)) {
+			foundImplementation = null;
+		}
+
+		if (implementations.size() > 1) {
+			foundImplementation = this.getByQualifiers(clazz, implementations, qualifierKey.isEmpty() ? QualifierKey.DEFAULT : qualifierKey);
 		}
 
-		return true;
+		return foundImplementation;
 	}
 
 	/**
+	 * Resolves the implementation to inject, the result (even a missing or an ambiguous dependency) is cached as it never changes once the container is started
 	 *
 	 * @param <T>
-	 * @param interfaceClass
-	 * @param implementations
+	 * @param key
+	 * @param clazz
 	 * @param qualifiers
-	 * @return T
+	 * @return Class<? extends T>
 	 * @throws IllegalArgumentException
 	 */
-	private <T> Class<? extends T> getByQualifiers(final Class<T> interfaceClass, final Set<Class<? extends T>> implementations, final List<Annotation> qualifiers) throws IllegalArgumentException {
-		Class<? extends T> foundImplementation = null;
+	private <T> Class<? extends T> resolve(final ResolutionKey key, final Class<T> clazz, final Annotation... qualifiers) throws IllegalArgumentException {
+		return this.resolution(key, clazz, qualifiers).get();
+	}
 
-		for(final var impl : implementations) {
-			if (this.hasQualifiers(impl, qualifiers)) {
-				if (foundImplementation != null) {
-					final StringBuilder qualifiersStr = new StringBuilder();
+	/**
+	 *
+	 * @param <T>
+	 * @param key
+	 * @param clazz
+	 * @param qualifiers
+	 * @return Resolution
+	 */
+	private <T> Resolution resolution(final ResolutionKey key, final Class<T> clazz, final Annotation... qualifiers) {
+		Resolution resolution = this.resolutionCache.get(key);
+		final boolean cached = resolution != null;
+
+		if (!cached) {
+			resolution = this.resolutionCache.computeIfAbsent(key, k -> {
+				try {
+					return Resolution.of(this.findImplementation(clazz, k.getQualifiers(), qualifiers));
+				} catch (final IllegalArgumentException e) {
+					return Resolution.error(e.getMessage());
+				}
+			});
+		}
+
+		this.metrics.recordResolution(clazz, cached);
+
+		return resolution;
+	}
+
+	/**
+	 *
+	 * @param point
+	 * @return Class<?> the implementation injected in the injection point, or null if there is none
+	 * @throws IllegalArgumentException if the resolution fails
+	 */
+	Class<?> resolveImplementation(final InjectionPoint point) throws IllegalArgumentException {
+		return point.getType() != null ? this.resolve(point.getKey(), point.getType(), point.getQualifiers()) : null;
+	}
 
-					qualifiers.forEach(a -> {
-						qualifiersStr.append(" @").append(a.annotationType().getSimpleName());
-					});
+	/**
+	 * Checks that no bean of a scope narrower than the singleton one (@RequestScoped or @ThreadScoped) is injected in a singleton, directly or
+	 * through the beans created with it, as the singleton would keep it once its context has ended. A provider is allowed, the bean being looked
+	 * up in the active context each time the provider is called.
+	 *
+	 * @param singletonClass
+	 * @throws DefinitionException
+	 */
+	void checkScopes(final Class<?> singletonClass) throws DefinitionException {
+		final Deque<Class<?>> toVisit = new ArrayDeque<>(List.of(singletonClass));
+		final Set<Class<?>> visited = new HashSet<>(toVisit);
 
-					throw new IllegalArgumentException(String.format("Ambiguous dependencies for type %s with qualifiers%s", interfaceClass.getName(), qualifiersStr.toString()));
-					//throw new IllegalArgumentException(String.format("Unsatisfied dependencies for type %s with qualifiers%s", interfaceClass.getName(), qualifiersStr.toString()));
+		while (!toVisit.isEmpty()) {
+			final Class<?> beanClass = toVisit.poll();
+			final List<InjectionPoint> points = new ArrayList<>(Instantiator.of(beanClass).getParameters());
+			points.addAll(InjectionPlan.of(beanClass).getInjectionPoints());
+
+			for (final InjectionPoint point : points) {
+				final Class<?> implementation;
+
+				try {
+					implementation = point.isProvider() ? null : this.resolveImplementation(point);
+				} catch (final IllegalArgumentException e) {
+					// Reported when the bean is injected
+					continue;
+				}
+
+				if (implementation == null) {
+					continue;
+				}
+
+				final Class<? extends Annotation> scope = ScopeContext.scopeOf(implementation);
+
+				if (scope != null) {
+					throw new DefinitionException(String.format("Cannot inject @%s bean %s in singleton %s through %s, inject a provider instead",
+							scope.getSimpleName(), implementation.getName(), singletonClass.getName(), beanClass.getName()));
+				}
+
+				if (!SingletonRegistry.isSingleton(implementation) && visited.add(implementation)) {
+					toVisit.add(implementation);
 				}
-				foundImplementation = impl;
 			}
 		}
+	}
 
-		return foundImplementation;
+	/**
+	 * Resolves each interface of the application scope without qualifier and with the qualifiers of each of its implementations,
+	 * to be stored in the startup cache
+	 *
+	 * @return Map<ResolutionKey, Resolution>
+	 */
+	Map<ResolutionKey, Resolution> resolveApplicationScope() {
+		final Map<ResolutionKey, Resolution> resolutions = new HashMap<>();
+
+		this.container.getApplicationScope().forEach((interfaceClass, implementations) -> {
+			final Map<QualifierKey, Annotation[]> qualifierSets = new LinkedHashMap<>();
+			qualifierSets.put(QualifierKey.NONE, new Annotation[0]);
+			implementations.forEach(impl -> qualifierSets.putIfAbsent(QualifierKey.ofBean(impl), Arrays.stream(impl.getDeclaredAnnotations()).filter(a -> BeanHandler.isQualifier(a)).toArray(Annotation[]::new)));
+
+			for (final Map.Entry<QualifierKey, Annotation[]> qualifiers : qualifierSets.entrySet()) {
+				resolutions.computeIfAbsent(new ResolutionKey(interfaceClass, qualifiers.getKey()), k -> {
+					try {
+						return Resolution.of(this.findImplementation(interfaceClass, qualifiers.getKey(), qualifiers.getValue()));
+					} catch (final IllegalArgumentException e) {
+						return Resolution.error(e.getMessage());
+					}
+				});
+			}
+		});
+
+		return resolutions;
+	}
+
+	/**
+	 * Fills the resolution cache with the resolutions loaded from the startup cache
+	 *
+	 * @param resolutions
+	 */
+	void preloadResolutions(final Map<ResolutionKey, Resolution> resolutions) {
+		resolutions.forEach(this.resolutionCache::putIfAbsent);
+	}
+
+	/**
+	 * Gets a provider of the instances of a class, resolved once: the instances are created and initialized each time the provider is called,
+	 * the errors being thrown as {@link com.github.matschieu.ioc.core.exceptions.ProvisionException}
+	 *
+	 * @param <T>
+	 * @param clazz
+	 * @param qualifiers
+	 * @return Provider<T>
+	 */
+	public <T> Provider<T> getProvider(final Class<T> clazz, final Annotation... qualifiers) {
+		return this.providerOf(new ResolutionKey(clazz, qualifiers), clazz, qualifiers);
+	}
+
+	/**
+	 *
+	 * @param <T>
+	 * @param key
+	 * @param clazz
+	 * @param qualifiers
+	 * @return Provider<T>
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Provider<T> providerOf(final ResolutionKey key, final Class<T> clazz, final Annotation... qualifiers) {
+		Provider<?> provider = this.providers.get(key);
+
+		if (provider == null) {
+			provider = this.providers.computeIfAbsent(key, k -> new InjectedProvider<>(this.container, this, clazz, qualifiers, this.resolution(k, clazz, qualifiers)));
+		}
+
+		return (Provider<T>)provider;
 	}
 
 	/**
@@ -146,38 +379,27 @@ public class Injector {
 	 * @throws IllegalArgumentException
 	 */
 	private <T> T instanceOf(final Class<T> clazz, final Annotation... qualifiers) throws InvocationException, IllegalArgumentException {
-		T instance = null;
+		return this.instanceOf(clazz != null ? ResolutionKey.of(clazz, qualifiers) : null, clazz, qualifiers);
+	}
 
-		for(final Annotation annotation : qualifiers) {
-			if (!this.isQualifier(annotation)) {
-				throw new IllegalArgumentException(String.format("Bad qualifier @%s for class %s", annotation.annotationType().getSimpleName(), clazz.getName()));
-			}
-		}
+	/**
+	 *
+	 * @param <T>
+	 * @param key
+	 * @param clazz
+	 * @param qualifiers
+	 * @return T
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	private <T> T instanceOf(final ResolutionKey key, final Class<T> clazz, final Annotation... qualifiers) throws InvocationException, IllegalArgumentException {
+		T instance = null;
 
 		if (clazz != null) {
-			@SuppressWarnings("unchecked")
-			final Set<Class<? extends T>> implementations = this.container.getApplicationScope().entrySet().stream().filter(e -> e.getValue().equals(clazz)).map(e -> (Class<? extends T>)e.getKey()).collect(Collectors.toSet());
-			Class<? extends T> foundImplementation = null;
-			final List<Annotation> qualifierList = qualifiers.length > 0 ? Arrays.asList(qualifiers) : new ArrayList<>();
+			final Class<? extends T> foundImplementation = this.resolve(key, clazz, qualifiers);
 
-			if (implementations.size() == 0 && !clazz.isInterface()) {
-				foundImplementation = clazz;
-			}
-
-			if (implementations.size() == 1) {
-				foundImplementation = implementations.stream().findFirst().get();
-			}
-
-			if (foundImplementation != null && !qualifierList.isEmpty() && !this.hasQualifiers(foundImplementation, qualifierList)) {
-				foundImplementation = null;
-			}
-
-			if (implementations.size() > 1) {
-				if (qualifierList.isEmpty()) {
-					qualifierList.add(() -> Default.class);
-				}
-
-				foundImplementation = this.getByQualifiers(clazz, implementations, qualifierList);
+			if (this.trace != null) {
+				this.trace.record(TraceEvent.Kind.RESOLUTION, clazz, foundImplementation, 0);
 			}
 
 			if (foundImplementation != null) {
@@ -185,33 +407,79 @@ public class Injector {
 			}
 		}
 
-		LOGGER.info("Instance of {} -> {}", clazz, instance != null ? instance.getClass() : null);
+		if (this.logInjections) {
+			LOGGER.info("Instance of {} -> {}", clazz, instance != null ? instance.getClass() : null);
+		}
 
 		return instance;
 	}
 
 	/**
+	 * Injects the members of a bean and calls its post construct method, unless it is a singleton, a scoped bean or a pooled bean of the container which is initialized once, when it is created.
+	 * A singleton whose asynchronous post construct method failed is not initialized again either, even if the container already dropped it: its failure is reported instead.
 	 *
-	 * @param annotation
-	 * @return boolean
+	 * @param bean
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 * @throws IllegalArgumentException
 	 */
-	private boolean isQualifier(final Annotation annotation) {
-		return annotation != null && annotation.annotationType().getDeclaredAnnotation(Qualifier.class) != null;
+	Object initBean(final Object bean) throws InvocationException, DefinitionException, IllegalArgumentException {
+		if (!this.isInitialized(bean)) {
+			return this.initialize(bean);
+		}
+
+		if (this.lifecycle != null) {
+			this.lifecycle.dependOn(bean);
+		}
+
+		return bean;
 	}
 
 	/**
+	 * Checks the kinds of bean in the same order as {@link Container#getObjectInstance(Class)}: singleton, scoped bean, then pooled bean
 	 *
-	 * @param field
-	 * @return List<Annotation>
+	 * @param bean
+	 * @return boolean true if the bean was initialized when the container created it
 	 */
-	private List<Annotation> getQualifiers(final Field field) {
-		final List<Annotation> qualifiers = new ArrayList<>();
-		for(final Annotation annotation : field.getDeclaredAnnotations()) {
-			if (this.isQualifier(annotation)) {
-				qualifiers.add(annotation);
-			}
+	private boolean isInitialized(final Object bean) {
+		if (bean == null) {
+			return false;
+		}
+
+		final Class<?> clazz = bean.getClass();
+
+		if (SingletonRegistry.isSingleton(clazz)) {
+			return this.container.isManagedSingleton(bean) || this.readiness(bean).isCompletedExceptionally();
+		}
+
+		if (ScopeContext.scopeOf(clazz) != null) {
+			return this.container.isManagedScopedBean(bean);
+		}
+
+		return BeanPool.isPooled(clazz);
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 * @throws IllegalArgumentException
+	 */
+	Object initialize(final Object bean) throws InvocationException, DefinitionException, IllegalArgumentException {
+		if (bean == null || this.profiler == null) {
+			return this.doInitBean(bean);
+		}
+
+		final StartupProfiler.Span span = this.profiler.start(Kind.INIT, bean.getClass().getName());
+
+		try {
+			return this.doInitBean(bean);
+		} finally {
+			span.end();
 		}
-		return qualifiers;
 	}
 
 	/**
@@ -222,35 +490,190 @@ public class Injector {
 	 * @throws DefinitionException
 	 * @throws IllegalArgumentException
 	 */
-	private Object initBean(final Object bean) throws InvocationException, DefinitionException, IllegalArgumentException {
+	private Object doInitBean(final Object bean) throws InvocationException, DefinitionException, IllegalArgumentException {
 		if (bean == null) {
 			return bean;
 		}
 
-		for(final Field field : bean.getClass().getDeclaredFields()) {
-			if (field.getDeclaredAnnotation(Inject.class) != null) {
-				LOGGER.debug("Injecting value in {}.{}", bean.getClass().getName(), field.getName());
+		final BeanFactory<Object> factory = BeanFactories.get(bean.getClass());
+		final InjectionPlan plan = factory == null ? InjectionPlan.of(bean.getClass()) : null;
+		final List<CompletableFuture<Void>> dependencies = this.lifecycle != null ? this.lifecycle.begin() : null;
 
-				if (!field.trySetAccessible()) {
-					LOGGER.error("Field {}.{} is not accessible", bean.getClass().getName(), field.getName());
-				}
+		try {
+			if (factory != null) {
+				factory.injectMembers(bean, this);
+			} else {
+				this.injectMembers(bean, plan);
+			}
+		} finally {
+			if (dependencies != null) {
+				this.lifecycle.end();
+			}
+		}
+
+		final boolean hasPostConstruct = factory != null ? factory.hasPostConstruct() : plan.hasPostConstruct();
+
+		if (dependencies == null || !hasPostConstruct) {
+			this.postConstruct(bean, factory, hasPostConstruct);
+		}
+
+		if (dependencies != null) {
+			this.lifecycle.schedule(bean, dependencies, hasPostConstruct ? () -> this.postConstruct(bean, factory, true) : null);
+		}
 
-				final Object value = this.instanceOf(field.getType(), this.getQualifiers(field).toArray(new Annotation[0]));
+		return bean;
+	}
 
+	/**
+	 * Sets the fields annotated with @Inject by reflection
+	 *
+	 * @param bean
+	 * @param plan
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 * @throws IllegalArgumentException
+	 */
+	private void injectMembers(final Object bean, final InjectionPlan plan) throws InvocationException, DefinitionException, IllegalArgumentException {
+		for(final InjectionPoint point : plan.getInjectionPoints()) {
+			if (this.logInjections) {
+				LOGGER.debug("Injecting value in {}.{}", bean.getClass().getName(), point.getName());
+			}
+
+			if (point.isProvider()) {
 				try {
-					LOGGER.debug("Setting {}.{} with value {}", bean.getClass().getName(), field.getName(), value != null ? value.getClass().getName() : null);
-					field.set(bean, value);
-				} catch (final Exception e) {
+					point.set(bean, point.getType() != null ? this.providerOf(point.getKey(), point.getType(), point.getQualifiers()) : null);
+				} catch (final InvocationException e) {
 					LOGGER.error(e.getMessage(), e);
 				}
+				continue;
+			}
 
-				this.initBean(value);
+			final Object value = this.instanceOf(point.getKey(), point.getType(), point.getQualifiers());
+
+			try {
+				if (this.logInjections) {
+					LOGGER.debug("Setting {}.{} with value {}", bean.getClass().getName(), point.getName(), value != null ? value.getClass().getName() : null);
+				}
+				point.set(bean, value);
+			} catch (final InvocationException e) {
+				LOGGER.error(e.getMessage(), e);
 			}
-		}
 
-		BeanHandler.handlePostConstruct(bean);
+			this.initBean(value);
+		}
+	}
 
+	/**
+	 * Waits until a bean is ready when its post construct method runs asynchronously, unless the current thread is injecting the members of another bean
+	 * which will wait for it
+	 *
+	 * @param bean
+	 * @return Object the bean
+	 * @throws InvocationException if the post construct method of the bean or of a bean injected in it failed
+	 */
+	Object ready(final Object bean) throws InvocationException {
+		if (this.lifecycle != null && !this.lifecycle.isInitializing()) {
+			this.lifecycle.await(bean);
+		}
 		return bean;
 	}
 
+	/**
+	 *
+	 * @param bean
+	 * @return CompletableFuture<Void> completed once the bean is ready, i.e. once its post construct method and the ones of the beans injected in it have returned
+	 */
+	CompletableFuture<Void> readiness(final Object bean) {
+		return this.lifecycle != null ? this.lifecycle.readiness(bean) : CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * Resolves the value of an injection point: a provider, or an instance initialized
+	 *
+	 * @param point
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 * @throws IllegalArgumentException
+	 */
+	Object valueOf(final InjectionPoint point) throws InvocationException, DefinitionException, IllegalArgumentException {
+		if (point.isProvider()) {
+			return point.getType() != null ? this.providerOf(point.getKey(), point.getType(), point.getQualifiers()) : null;
+		}
+		return this.dependency(point.getKey(), point.getType(), true, point.getQualifiers());
+	}
+
+	/**
+	 * Resolves a dependency of a bean and initializes it, the errors being thrown to the bean being injected instead of being logged
+	 *
+	 * @param <T>
+	 * @param key
+	 * @param clazz
+	 * @param parameter true if the dependency is a constructor parameter, which is used right away
+	 * @param qualifiers
+	 * @return T
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 * @throws IllegalArgumentException
+	 */
+	<T> T dependency(final ResolutionKey key, final Class<T> clazz, final boolean parameter, final Annotation... qualifiers) throws InvocationException, DefinitionException, IllegalArgumentException {
+		final T value = this.instanceOf(key, clazz, qualifiers);
+		this.initBean(value);
+
+		if (parameter && this.lifecycle != null) {
+			this.lifecycle.await(value);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Calls the post construct method of the bean, measuring it when the bean has one
+	 *
+	 * @param bean
+	 * @param factory the factory of the bean, or null to call the method by reflection
+	 * @param hasPostConstruct
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 */
+	private void postConstruct(final Object bean, final BeanFactory<Object> factory, final boolean hasPostConstruct) throws InvocationException, DefinitionException {
+		if (!hasPostConstruct || !this.metrics.isEnabled() && this.profiler == null && this.trace == null) {
+			this.invokePostConstruct(bean, factory);
+			return;
+		}
+
+		final StartupProfiler.Span span = this.profiler != null ? this.profiler.start(Kind.POST_CONSTRUCT, bean.getClass().getName()) : null;
+		final long start = System.nanoTime();
+
+		try {
+			this.invokePostConstruct(bean, factory);
+		} finally {
+			final long duration = System.nanoTime() - start;
+			this.metrics.recordPostConstruct(bean.getClass(), duration);
+
+			if (this.trace != null) {
+				this.trace.record(TraceEvent.Kind.POST_CONSTRUCT, bean.getClass(), null, duration);
+			}
+
+			if (span != null) {
+				span.end();
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @param factory
+	 * @throws InvocationException
+	 * @throws DefinitionException
+	 */
+	private void invokePostConstruct(final Object bean, final BeanFactory<Object> factory) throws InvocationException, DefinitionException {
+		if (factory != null) {
+			factory.postConstruct(bean);
+		} else {
+			BeanHandler.handlePostConstruct(bean);
+		}
+	}
+
 }
@@ -0,0 +1,222 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.matschieu.ioc.core.InjectionPlan.InjectionPoint;
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ * Creates the instances of a class without reflection, through its generated {@link BeanFactory} when there is one, or else through its constructor.
+ * A no-arg constructor is bound once per class to a Supplier generated with the LambdaMetafactory, so that an instantiation costs as much as a plain new.
+ * When the lambda cannot be generated (e.g. the class is not visible from this module) a MethodHandle on the constructor is used instead.
+ * A constructor annotated with @Inject is planned once per class: its parameters are resolved as injection points and it is called through a
+ * MethodHandle spreading an array of arguments.
+ *
+ * @author Matschieu
+ *
+ */
+final class Instantiator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Instantiator.class);
+
+	private static final ClassValue<Instantiator> INSTANTIATORS = new ClassValue<>() {
+		@Override
+		protected Instantiator computeValue(final Class<?> type) {
+			return new Instantiator(type);
+		}
+	};
+
+	/** The classes being instantiated by the current thread with their dependencies, to detect the cycles between the constructors */
+	private static final ThreadLocal<Set<Class<?>>> INSTANTIATING = ThreadLocal.withInitial(LinkedHashSet::new);
+
+	private final Class<?> type;
+
+	private final BeanFactory<?> factory;
+
+	private final Supplier<?> supplier;
+
+	private final MethodHandle constructor;
+
+	private final List<InjectionPoint> parameters;
+
+	private final Exception error;
+
+	/**
+	 *
+	 * @param type
+	 */
+	private Instantiator(final Class<?> type) {
+		this.type = type;
+		this.factory = BeanFactories.get(type);
+
+		Supplier<?> supplier = null;
+		MethodHandle constructor = null;
+		List<InjectionPoint> parameters = List.of();
+		Exception error = null;
+
+		try {
+			final Constructor<?> declaredConstructor = Instantiator.findConstructor(type);
+			parameters = InjectionPoint.of(declaredConstructor);
+
+			if (this.factory == null) {
+				declaredConstructor.trySetAccessible();
+
+				if (parameters.isEmpty()) {
+					constructor = MethodHandles.lookup().unreflectConstructor(declaredConstructor).asType(MethodType.methodType(Object.class));
+					supplier = Instantiator.generateSupplier(type);
+				} else {
+					constructor = MethodHandles.lookup().unreflectConstructor(declaredConstructor).asSpreader(Object[].class, parameters.size()).asType(MethodType.methodType(Object.class, Object[].class));
+				}
+			}
+		} catch (final Exception e) {
+			error = e;
+		}
+
+		this.supplier = supplier;
+		this.constructor = constructor;
+		this.parameters = parameters;
+		this.error = error;
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return Constructor<?> the constructor annotated with @Inject, or the no-arg constructor if there is none
+	 * @throws DefinitionException if there is more than one constructor annotated with @Inject
+	 * @throws NoSuchMethodException
+	 */
+	private static Constructor<?> findConstructor(final Class<?> type) throws DefinitionException, NoSuchMethodException {
+		final List<Constructor<?>> constructors = Arrays.stream(type.getDeclaredConstructors()).filter(c -> c.getDeclaredAnnotation(Inject.class) != null).collect(Collectors.toList());
+
+		if (constructors.size() > 1) {
+			throw new DefinitionException(String.format("Cannot have more than one constructor annotated with @%s for class %s", Inject.class.getSimpleName(), type.getName()));
+		}
+
+		return constructors.isEmpty() ? type.getDeclaredConstructor() : constructors.get(0);
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return Supplier<?> or null if it cannot be generated
+	 */
+	private static Supplier<?> generateSupplier(final Class<?> type) {
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+			final MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+			final CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), constructor, MethodType.methodType(type));
+			return (Supplier<?>)callSite.getTarget().invokeExact();
+		} catch (final Throwable e) {
+			LOGGER.debug("Cannot generate an instantiator for {}, using a method handle: {}", type.getName(), e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @return Instantiator
+	 */
+	static Instantiator of(final Class<?> type) {
+		return INSTANTIATORS.get(type);
+	}
+
+	/**
+	 *
+	 * @return List<InjectionPoint> the parameters of the constructor annotated with @Inject, empty if there is none
+	 */
+	List<InjectionPoint> getParameters() {
+		return this.parameters;
+	}
+
+	/**
+	 *
+	 * @param injector
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	Object newInstance(final Injector injector) throws InvocationException, IllegalArgumentException {
+		if (this.factory != null) {
+			return this.factory.hasInjectConstructor() ? this.newInstanceWithDependencies(injector) : this.factory.newInstance(injector);
+		}
+
+		if (this.error != null) {
+			throw new InvocationException(this.error);
+		}
+
+		if (!this.parameters.isEmpty()) {
+			return this.newInstanceWithDependencies(injector);
+		}
+
+		if (this.supplier != null) {
+			try {
+				return this.supplier.get();
+			} catch (final Exception e) {
+				throw new InvocationException(e);
+			}
+		}
+
+		try {
+			return (Object)this.constructor.invokeExact();
+		} catch (final Throwable e) {
+			throw new InvocationException(e);
+		}
+	}
+
+	/**
+	 * Resolves the arguments of the constructor then calls it, failing if the class is already being instantiated by the current thread
+	 *
+	 * @param injector
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	private Object newInstanceWithDependencies(final Injector injector) throws InvocationException, IllegalArgumentException {
+		final Set<Class<?>> instantiating = INSTANTIATING.get();
+
+		if (!instantiating.add(this.type)) {
+			final String cycle = instantiating.stream().dropWhile(c -> c != this.type).map(Class::getName).collect(Collectors.joining(" -> "));
+			throw new InvocationException(String.format("Circular dependency between the constructors of %s -> %s", cycle, this.type.getName()));
+		}
+
+		try {
+			if (this.factory != null) {
+				return this.factory.newInstance(injector);
+			}
+
+			final Object[] arguments = new Object[this.parameters.size()];
+
+			for (int i = 0; i < arguments.length; i++) {
+				arguments[i] = injector.valueOf(this.parameters.get(i));
+			}
+
+			return (Object)this.constructor.invokeExact(arguments);
+		} catch (InvocationException | IllegalArgumentException e) {
+			throw e;
+		} catch (final Throwable e) {
+			throw new InvocationException(e);
+		} finally {
+			instantiating.remove(this.type);
+		}
+	}
+
+}
@@ -0,0 +1,215 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.enterprise.inject.Default;
+import javax.enterprise.util.Nonbinding;
+
+/**
+ * Canonical set of qualifiers: two sets of qualifiers with the same types and the same member values, whatever their order or the
+ * implementation of the annotations, have the same canonical string, so that they are equal.
+ * All the members of a qualifier are taken into account, except the ones annotated with @Nonbinding.
+ * The qualifiers of a bean class are computed once per class, as well as the binding members of each qualifier type. The injection points
+ * and the generated factories compute their key once, only the qualifiers given to the injector by the application are canonicalized on each call.
+ *
+ * @author Matschieu
+ *
+ */
+final class QualifierKey {
+
+	private static final ClassValue<QualifierKey> BEAN_QUALIFIERS = new ClassValue<>() {
+		@Override
+		protected QualifierKey computeValue(final Class<?> type) {
+			return QualifierKey.of(Arrays.stream(type.getDeclaredAnnotations()).filter(BeanHandler::isQualifier).toArray(Annotation[]::new));
+		}
+	};
+
+	/** The binding members of each qualifier type, sorted by name and accessible */
+	private static final ClassValue<Method[]> MEMBERS = new ClassValue<>() {
+		@Override
+		protected Method[] computeValue(final Class<?> type) {
+			final Method[] members = Arrays.stream(type.getDeclaredMethods())
+					.filter(m -> m.getParameterCount() == 0 && m.getDeclaredAnnotation(Nonbinding.class) == null)
+					.sorted(Comparator.comparing(Method::getName))
+					.toArray(Method[]::new);
+
+			for (final Method member : members) {
+				member.trySetAccessible();
+			}
+
+			return members;
+		}
+	};
+
+	/** The key of each qualifier type without binding member, when it is the only qualifier */
+	private static final ClassValue<QualifierKey> SINGLE_QUALIFIERS = new ClassValue<>() {
+		@Override
+		protected QualifierKey computeValue(final Class<?> type) {
+			return QualifierKey.of(List.of(type.getName()));
+		}
+	};
+
+	/** No qualifier */
+	static final QualifierKey NONE = QualifierKey.of(List.of());
+
+	/** The qualifier requested when there is more than one implementation and no qualifier */
+	static final QualifierKey DEFAULT = QualifierKey.of(List.of(Default.class.getName()));
+
+	private final List<String> qualifiers;
+
+	private final String canonicalString;
+
+	/**
+	 *
+	 * @param qualifiers
+	 * @param canonicalString
+	 */
+	private QualifierKey(final List<String> qualifiers, final String canonicalString) {
+		this.qualifiers = qualifiers;
+		this.canonicalString = canonicalString;
+	}
+
+	/**
+	 *
+	 * @param annotations
+	 * @return QualifierKey
+	 */
+	static QualifierKey of(final Annotation... annotations) {
+		if (annotations.length == 0) {
+			return NONE;
+		}
+		if (annotations.length == 1 && MEMBERS.get(annotations[0].annotationType()).length == 0) {
+			return SINGLE_QUALIFIERS.get(annotations[0].annotationType());
+		}
+		return QualifierKey.of(Arrays.stream(annotations).map(QualifierKey::toCanonicalString).collect(Collectors.toList()));
+	}
+
+	/**
+	 *
+	 * @param qualifiers the canonical strings of the qualifiers
+	 * @return QualifierKey
+	 */
+	static QualifierKey of(final List<String> qualifiers) {
+		final List<String> sortedQualifiers = qualifiers.stream().sorted().collect(Collectors.toUnmodifiableList());
+		return new QualifierKey(sortedQualifiers, String.join(",", sortedQualifiers));
+	}
+
+	/**
+	 *
+	 * @param beanClass
+	 * @return QualifierKey the qualifiers declared by the bean class
+	 */
+	static QualifierKey ofBean(final Class<?> beanClass) {
+		return BEAN_QUALIFIERS.get(beanClass);
+	}
+
+	/**
+	 * The annotation type followed by its binding members sorted by name, e.g. javax.inject.Named(value="name")
+	 *
+	 * @param annotation
+	 * @return String
+	 * @throws java.lang.IllegalArgumentException if the annotation is not an instance of its annotation type, so that its members cannot be read
+	 */
+	static String toCanonicalString(final Annotation annotation) {
+		final Method[] members = MEMBERS.get(annotation.annotationType());
+
+		if (members.length == 0) {
+			return annotation.annotationType().getName();
+		}
+
+		final StringBuilder canonicalString = new StringBuilder(annotation.annotationType().getName()).append('(');
+
+		for (int i = 0; i < members.length; i++) {
+			final Method member = members[i];
+
+			if (i > 0) {
+				canonicalString.append(',');
+			}
+
+			canonicalString.append(member.getName()).append('=');
+
+			try {
+				QualifierKey.appendValue(canonicalString, member.invoke(annotation));
+			} catch (final ReflectiveOperationException e) {
+				// The member cannot be read, the annotation is identified by its string representation
+				return annotation.toString();
+			}
+		}
+
+		return canonicalString.append(')').toString();
+	}
+
+	/**
+	 *
+	 * @param canonicalString
+	 * @param value
+	 */
+	private static void appendValue(final StringBuilder canonicalString, final Object value) {
+		if (value instanceof String) {
+			canonicalString.append('"').append(((String)value).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+		} else if (value instanceof Class) {
+			canonicalString.append(((Class<?>)value).getName()).append(".class");
+		} else if (value instanceof Enum) {
+			canonicalString.append(((Enum<?>)value).getDeclaringClass().getName()).append('.').append(((Enum<?>)value).name());
+		} else if (value instanceof Annotation) {
+			canonicalString.append('@').append(QualifierKey.toCanonicalString((Annotation)value));
+		} else if (value != null && value.getClass().isArray()) {
+			canonicalString.append('{');
+
+			for (int i = 0; i < Array.getLength(value); i++) {
+				if (i > 0) {
+					canonicalString.append(',');
+				}
+				QualifierKey.appendValue(canonicalString, Array.get(value, i));
+			}
+
+			canonicalString.append('}');
+		} else {
+			canonicalString.append(value);
+		}
+	}
+
+	/**
+	 *
+	 * @return List<String> the sorted canonical strings of the qualifiers
+	 */
+	List<String> getQualifiers() {
+		return this.qualifiers;
+	}
+
+	/**
+	 *
+	 * @return boolean
+	 */
+	boolean isEmpty() {
+		return this.qualifiers.isEmpty();
+	}
+
+	@Override
+	public int hashCode() {
+		return this.canonicalString.hashCode();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof QualifierKey)) {
+			return false;
+		}
+		return this.canonicalString.equals(((QualifierKey)obj).canonicalString);
+	}
+
+	@Override
+	public String toString() {
+		return "[" + this.canonicalString + "]";
+	}
+
+}
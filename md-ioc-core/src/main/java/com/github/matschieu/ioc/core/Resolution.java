@@ -0,0 +1,77 @@
+package com.github.matschieu.ioc.core;
+
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+
+/**
+ * Result of a resolution: the implementation to instantiate, no implementation at all or an error such as an ambiguous dependency.
+ *
+ * @author Matschieu
+ *
+ */
+final class Resolution {
+
+	private static final Resolution NONE = new Resolution(null, null);
+
+	private final Class<?> implementation;
+
+	private final String error;
+
+	/**
+	 *
+	 * @param implementation
+	 * @param error
+	 */
+	private Resolution(final Class<?> implementation, final String error) {
+		this.implementation = implementation;
+		this.error = error;
+	}
+
+	/**
+	 *
+	 * @param implementation
+	 * @return Resolution
+	 */
+	static Resolution of(final Class<?> implementation) {
+		return implementation != null ? new Resolution(implementation, null) : NONE;
+	}
+
+	/**
+	 *
+	 * @param error
+	 * @return Resolution
+	 */
+	static Resolution error(final String error) {
+		return new Resolution(null, error);
+	}
+
+	/**
+	 *
+	 * @return Class<?> the implementation, or null if there is none or if the resolution failed
+	 */
+	Class<?> getImplementation() {
+		return this.implementation;
+	}
+
+	/**
+	 *
+	 * @return String the error, or null if the resolution succeeded
+	 */
+	String getError() {
+		return this.error;
+	}
+
+	/**
+	 *
+	 * @param <T>
+	 * @return Class<? extends T> the implementation or null if there is none
+	 * @throws IllegalArgumentException if the resolution failed
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Class<? extends T> get() throws IllegalArgumentException {
+		if (this.error != null) {
+			throw new IllegalArgumentException(this.error);
+		}
+		return (Class<? extends T>)this.implementation;
+	}
+
+}
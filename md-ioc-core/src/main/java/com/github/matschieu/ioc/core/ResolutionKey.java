@@ -0,0 +1,97 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+
+/**
+ * Canonical key of a resolution: the requested type and its qualifiers, whatever the order or the implementation of the qualifiers.
+ * Two keys are equal if they have the same type and the same canonical qualifiers.
+ *
+ * @author Matschieu
+ *
+ */
+final class ResolutionKey {
+
+	private final Class<?> type;
+
+	private final QualifierKey qualifiers;
+
+	private final int hashCode;
+
+	/**
+	 *
+	 * @param type
+	 * @param qualifiers
+	 */
+	ResolutionKey(final Class<?> type, final Annotation... qualifiers) {
+		this(type, QualifierKey.of(qualifiers));
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @param qualifiers
+	 */
+	ResolutionKey(final Class<?> type, final QualifierKey qualifiers) {
+		this.type = type;
+		this.qualifiers = qualifiers;
+		this.hashCode = 31 * type.hashCode() + qualifiers.hashCode();
+	}
+
+	/**
+	 * Builds the key of qualifiers given by the application, which may be implemented by any class
+	 *
+	 * @param type
+	 * @param qualifiers
+	 * @return ResolutionKey
+	 * @throws IllegalArgumentException if a member of a qualifier cannot be read, e.g. if the qualifier is not an instance of its annotation type
+	 */
+	static ResolutionKey of(final Class<?> type, final Annotation... qualifiers) throws IllegalArgumentException {
+		try {
+			return new ResolutionKey(type, qualifiers);
+		} catch (final java.lang.IllegalArgumentException e) {
+			throw new IllegalArgumentException(String.format("Invalid qualifiers %s for type %s", Arrays.toString(qualifiers), type.getName()), e);
+		}
+	}
+
+	/**
+	 *
+	 * @return Class<?>
+	 */
+	Class<?> getType() {
+		return this.type;
+	}
+
+	/**
+	 *
+	 * @return QualifierKey
+	 */
+	QualifierKey getQualifiers() {
+		return this.qualifiers;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ResolutionKey)) {
+			return false;
+		}
+		final ResolutionKey other = (ResolutionKey)obj;
+		return this.type == other.type && this.qualifiers.equals(other.qualifiers);
+	}
+
+	@Override
+	public String toString() {
+		return this.type.getName() + this.qualifiers;
+	}
+
+}
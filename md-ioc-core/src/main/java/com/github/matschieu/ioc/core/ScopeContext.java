@@ -0,0 +1,182 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.RequestScoped;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.matschieu.ioc.core.annotations.ThreadScoped;
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ * A unit of work in which the beans of a scope (@RequestScoped or @ThreadScoped) are created once, then released together when it ends.
+ * A context is active on at most one thread at a time: it is bound to the current thread by {@link #activate()}, which only sets a thread local,
+ * so that a request can be handed over from one thread to another. The beans are created by one thread at a time, but the context may be ended
+ * from another thread (e.g. when a request times out): the instances are held in a concurrent map.
+ * A scoped bean cannot be injected in a singleton, which would keep it once the context has ended: a provider must be injected instead.
+ *
+ * @author Matschieu
+ *
+ */
+public final class ScopeContext implements AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScopeContext.class);
+
+	private static final ClassValue<Class<? extends Annotation>> SCOPES = new ClassValue<>() {
+		@Override
+		protected Class<? extends Annotation> computeValue(final Class<?> type) {
+			if (type.getDeclaredAnnotation(RequestScoped.class) != null) {
+				return RequestScoped.class;
+			}
+			return type.getDeclaredAnnotation(ThreadScoped.class) != null ? ThreadScoped.class : null;
+		}
+	};
+
+	private final Class<? extends Annotation> scope;
+
+	private final ThreadLocal<ScopeContext> activeContext;
+
+	private final Map<Class<?>, Object> instances = new ConcurrentHashMap<>();
+
+	private volatile boolean ended;
+
+	/**
+	 *
+	 * @param scope
+	 * @param activeContext the slot of the container holding the context of this scope active on each thread
+	 */
+	ScopeContext(final Class<? extends Annotation> scope, final ThreadLocal<ScopeContext> activeContext) {
+		this.scope = scope;
+		this.activeContext = activeContext;
+	}
+
+	/**
+	 *
+	 * @param clazz
+	 * @return Class<? extends Annotation> RequestScoped, ThreadScoped or null if the class is not scoped
+	 */
+	static Class<? extends Annotation> scopeOf(final Class<?> clazz) {
+		return SCOPES.get(clazz);
+	}
+
+	/**
+	 *
+	 * @return Class<? extends Annotation> the scope annotation of the beans of the context
+	 */
+	public Class<? extends Annotation> getScope() {
+		return this.scope;
+	}
+
+	/**
+	 * Binds the context to the current thread
+	 *
+	 * @return ScopeContext the context of the same scope previously active on the current thread, or null if there was none
+	 * @throws IllegalStateException if the context has ended
+	 */
+	public ScopeContext activate() {
+		if (this.ended) {
+			throw new IllegalStateException(String.format("The @%s context has ended", this.scope.getSimpleName()));
+		}
+
+		final ScopeContext previous = this.activeContext.get();
+		this.activeContext.set(this);
+		return previous != this ? previous : null;
+	}
+
+	/**
+	 * Unbinds the context from the current thread, the instances being kept until the context ends
+	 */
+	public void deactivate() {
+		if (this.activeContext.get() == this) {
+			this.activeContext.remove();
+		}
+	}
+
+	/**
+	 *
+	 * @return boolean true if the context is active on the current thread
+	 */
+	public boolean isActive() {
+		return this.activeContext.get() == this;
+	}
+
+	/**
+	 *
+	 * @return boolean
+	 */
+	public boolean isEnded() {
+		return this.ended;
+	}
+
+	/**
+	 *
+	 * @return int the number of instances held by the context
+	 */
+	public int size() {
+		return this.instances.size();
+	}
+
+	/**
+	 * Ends the context: releases all its instances at once and unbinds it from the current thread
+	 */
+	public void end() {
+		LOGGER.debug("Ending @{} context, releasing {} instance(s)", this.scope.getSimpleName(), this.instances.size());
+		this.ended = true;
+		this.instances.clear();
+		this.deactivate();
+	}
+
+	@Override
+	public void close() {
+		this.end();
+	}
+
+	/**
+	 * Gets the instance of a class in this context, creating and initializing it if needed. If there is a cycle between the beans of the context,
+	 * the instance being initialized is returned. If the initialization fails, the instance is dropped.
+	 *
+	 * @param clazz
+	 * @param injector
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	Object get(final Class<?> clazz, final Injector injector) throws InvocationException, IllegalArgumentException {
+		Object instance = this.instances.get(clazz);
+
+		if (instance != null) {
+			return instance;
+		}
+
+		instance = Instantiator.of(clazz).newInstance(injector);
+		this.instances.put(clazz, instance);
+
+		try {
+			injector.initialize(instance);
+		} catch (final DefinitionException e) {
+			this.instances.remove(clazz);
+			throw new InvocationException(e);
+		} catch (InvocationException | IllegalArgumentException | RuntimeException e) {
+			this.instances.remove(clazz);
+			throw e;
+		}
+
+		return instance;
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return boolean true if the bean is the instance of its class in this context
+	 */
+	boolean contains(final Object bean) {
+		return this.instances.get(bean.getClass()) == bean;
+	}
+
+}
@@ -0,0 +1,271 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.matschieu.ioc.core.InjectionPlan.InjectionPoint;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ * Creates and initializes a set of singletons concurrently, in the order of their dependencies.
+ * The dependencies of a singleton are the singletons injected in its fields or in its constructor, directly or through the other beans it injects.
+ * The singletons depending on each other (i.e. a cycle) are initialized together on the same thread, as the {@link SingletonRegistry} does on demand,
+ * so that the dependency graph handled is always acyclic: each group of singletons is initialized on the executor once all the groups it depends on are ready.
+ * The dependencies through a Provider are ignored as they are resolved lazily.
+ * As soon as a singleton fails, the singletons not started yet are skipped and all the errors are reported together.
+ *
+ * @author Matschieu
+ *
+ */
+final class SingletonInitializer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SingletonInitializer.class);
+
+	private final Container container;
+
+	private final Injector injector;
+
+	/**
+	 *
+	 * @param container
+	 */
+	SingletonInitializer(final Container container) {
+		this.container = container;
+		this.injector = container.getInjector();
+	}
+
+	/**
+	 * Initializes the singletons and the singletons they depend on
+	 *
+	 * @param singletons
+	 * @param executor
+	 * @return int the number of singletons initialized
+	 * @throws InvocationException if at least one singleton cannot be initialized, the errors being added as suppressed exceptions
+	 */
+	int initialize(final Collection<Class<?>> singletons, final Executor executor) throws InvocationException {
+		final Map<Class<?>, Set<Class<?>>> graph = this.buildGraph(singletons);
+		final List<List<Class<?>>> groups = SingletonInitializer.getStronglyConnectedComponents(graph);
+		final Map<Class<?>, CompletableFuture<Void>> futures = new HashMap<>();
+		final Queue<Exception> errors = new ConcurrentLinkedQueue<>();
+		final AtomicBoolean failed = new AtomicBoolean();
+
+		// The components are sorted so that the dependencies of a component always come before it
+		for (final List<Class<?>> group : groups) {
+			final CompletableFuture<?>[] dependencies = group.stream()
+					.flatMap(s -> graph.get(s).stream())
+					.map(futures::get)
+					.filter(f -> f != null)
+					.distinct()
+					.toArray(CompletableFuture<?>[]::new);
+			final CompletableFuture<Void> future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> this.initialize(group, failed, errors), executor);
+			group.forEach(s -> futures.put(s, future));
+		}
+
+		futures.values().stream().distinct().forEach(f -> f.exceptionally(e -> null).join());
+
+		if (!errors.isEmpty()) {
+			final InvocationException exception = new InvocationException(String.format("Cannot initialize %d singleton(s), first error: %s", errors.size(), errors.peek().getMessage()));
+			errors.forEach(exception::addSuppressed);
+			throw exception;
+		}
+
+		return graph.size();
+	}
+
+	/**
+	 * Initializes a group of singletons, unless another one has already failed
+	 *
+	 * @param group
+	 * @param failed
+	 * @param errors
+	 */
+	private void initialize(final List<Class<?>> group, final AtomicBoolean failed, final Queue<Exception> errors) {
+		for (final Class<?> singleton : group) {
+			if (failed.get()) {
+				LOGGER.debug("Initialization of singleton {} skipped after a failure", singleton.getName());
+				return;
+			}
+
+			try {
+				this.injector.ready(this.container.getObjectInstance(singleton));
+			} catch (InvocationException | IllegalArgumentException | RuntimeException e) {
+				LOGGER.error(String.format("Cannot initialize singleton %s", singleton.getName()), e);
+				failed.set(true);
+				errors.add(e);
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * Builds the graph of the singletons: the singletons each singleton depends on
+	 *
+	 * @param singletons
+	 * @return Map<Class<?>, Set<Class<?>>>
+	 */
+	private Map<Class<?>, Set<Class<?>>> buildGraph(final Collection<Class<?>> singletons) {
+		final Map<Class<?>, Set<Class<?>>> graph = new LinkedHashMap<>();
+		final Deque<Class<?>> toVisit = new ArrayDeque<>(singletons);
+
+		while (!toVisit.isEmpty()) {
+			final Class<?> singleton = toVisit.poll();
+
+			if (!graph.containsKey(singleton)) {
+				final Set<Class<?>> dependencies = this.getSingletonDependencies(singleton);
+				graph.put(singleton, dependencies);
+				toVisit.addAll(dependencies);
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Follows the injection points of a singleton, and of the beans it injects which are not singletons, to find the singletons it depends on
+	 *
+	 * @param singleton
+	 * @return Set<Class<?>>
+	 */
+	private Set<Class<?>> getSingletonDependencies(final Class<?> singleton) {
+		final Set<Class<?>> dependencies = new LinkedHashSet<>();
+		final Set<Class<?>> visited = new HashSet<>();
+		final Deque<Class<?>> toVisit = new ArrayDeque<>();
+		toVisit.add(singleton);
+
+		while (!toVisit.isEmpty()) {
+			final Class<?> bean = toVisit.poll();
+			final List<InjectionPoint> points = new ArrayList<>(Instantiator.of(bean).getParameters());
+			points.addAll(InjectionPlan.of(bean).getInjectionPoints());
+
+			for (final InjectionPoint point : points) {
+				if (point.isProvider()) {
+					continue;
+				}
+
+				Class<?> implementation = null;
+
+				try {
+					implementation = this.injector.resolveImplementation(point);
+				} catch (final IllegalArgumentException e) {
+					// Reported when the singleton is initialized
+					LOGGER.debug("Cannot resolve {}.{}: {}", bean.getName(), point.getName(), e.getMessage());
+				}
+
+				if (implementation == null) {
+					continue;
+				}
+
+				if (SingletonRegistry.isSingleton(implementation)) {
+					dependencies.add(implementation);
+				} else if (visited.add(implementation)) {
+					toVisit.add(implementation);
+				}
+			}
+		}
+
+		return dependencies;
+	}
+
+	/**
+	 * Finds the strongly connected components of the graph (Tarjan's algorithm, without recursion to support deep graphs)
+	 *
+	 * @param graph
+	 * @return List<List<Class<?>>> the components, each one coming after the components it depends on
+	 */
+	private static List<List<Class<?>>> getStronglyConnectedComponents(final Map<Class<?>, Set<Class<?>>> graph) {
+		final Map<Class<?>, Integer> indexes = new HashMap<>();
+		final Map<Class<?>, Integer> lowLinks = new HashMap<>();
+		final Deque<Class<?>> stack = new ArrayDeque<>();
+		final Set<Class<?>> onStack = new HashSet<>();
+		final List<List<Class<?>>> components = new ArrayList<>();
+
+		for (final Class<?> root : graph.keySet()) {
+			if (indexes.containsKey(root)) {
+				continue;
+			}
+
+			final Deque<Map.Entry<Class<?>, Iterator<Class<?>>>> path = new ArrayDeque<>();
+			SingletonInitializer.visit(root, graph, indexes, lowLinks, stack, onStack, path);
+
+			while (!path.isEmpty()) {
+				final Class<?> node = path.peek().getKey();
+				final Iterator<Class<?>> dependencies = path.peek().getValue();
+
+				if (dependencies.hasNext()) {
+					final Class<?> dependency = dependencies.next();
+
+					if (!indexes.containsKey(dependency)) {
+						SingletonInitializer.visit(dependency, graph, indexes, lowLinks, stack, onStack, path);
+					} else if (onStack.contains(dependency)) {
+						lowLinks.put(node, Math.min(lowLinks.get(node), indexes.get(dependency)));
+					}
+					continue;
+				}
+
+				path.pop();
+
+				if (!path.isEmpty()) {
+					final Class<?> parent = path.peek().getKey();
+					lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLinks.get(node)));
+				}
+
+				if (lowLinks.get(node).equals(indexes.get(node))) {
+					final List<Class<?>> component = new ArrayList<>();
+					Class<?> member;
+
+					do {
+						member = stack.pop();
+						onStack.remove(member);
+						component.add(member);
+					} while (member != node);
+
+					components.add(component);
+				}
+			}
+		}
+
+		LOGGER.debug("Singleton groups: {}", components.stream().map(c -> c.stream().map(Class::getSimpleName).collect(Collectors.toList())).collect(Collectors.toList()));
+
+		return components;
+	}
+
+	/**
+	 *
+	 * @param node
+	 * @param graph
+	 * @param indexes
+	 * @param lowLinks
+	 * @param stack
+	 * @param onStack
+	 * @param path
+	 */
+	private static void visit(final Class<?> node, final Map<Class<?>, Set<Class<?>>> graph, final Map<Class<?>, Integer> indexes, final Map<Class<?>, Integer> lowLinks,
+			final Deque<Class<?>> stack, final Set<Class<?>> onStack, final Deque<Map.Entry<Class<?>, Iterator<Class<?>>>> path) {
+		indexes.put(node, indexes.size());
+		lowLinks.put(node, indexes.get(node));
+		stack.push(node);
+		onStack.add(node);
+		path.push(Map.entry(node, graph.getOrDefault(node, Set.of()).iterator()));
+	}
+
+}
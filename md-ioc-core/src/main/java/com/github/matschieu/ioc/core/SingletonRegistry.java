@@ -0,0 +1,314 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Singleton;
+
+import com.github.matschieu.ioc.core.diagnostics.TraceEvent;
+import com.github.matschieu.ioc.core.diagnostics.TraceRecorder;
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+import com.github.matschieu.ioc.core.metrics.MetricsRecorder;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Kind;
+
+/**
+ * Thread-safe registry of the singleton instances.
+ * Each singleton is created and initialized at most once: the threads asking for a singleton being created wait on its holder, so they are only woken up
+ * once this singleton is ready or dropped, without blocking the other singletons. No lock is held while a singleton is created or initialized, so that the
+ * threads initializing singletons which depend on each other cannot deadlock: only the graph of the threads waiting for each other is shared, to detect the cycles.
+ *
+ * @author Matschieu
+ *
+ */
+final class SingletonRegistry {
+
+	private static final ClassValue<Boolean> SINGLETONS = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return type.getDeclaredAnnotation(Singleton.class) != null;
+		}
+	};
+
+	private final Map<Class<?>, Holder> holders = new ConcurrentHashMap<>();
+
+	/** The singleton each thread is waiting for, guarded by itself. Its lock is taken after the one of a holder, never before. */
+	private final Map<Thread, Holder> waiting = new HashMap<>();
+
+	private final MetricsRecorder metrics;
+
+	private final StartupProfiler profiler;
+
+	private final TraceRecorder trace;
+
+	/**
+	 *
+	 * @param metrics
+	 * @param profiler may be null
+	 * @param trace may be null
+	 */
+	SingletonRegistry(final MetricsRecorder metrics, final StartupProfiler profiler, final TraceRecorder trace) {
+		this.metrics = metrics;
+		this.profiler = profiler;
+		this.trace = trace;
+	}
+
+	/**
+	 *
+	 * @param clazz
+	 * @return boolean
+	 */
+	static boolean isSingleton(final Class<?> clazz) {
+		return SINGLETONS.get(clazz);
+	}
+
+	/**
+	 * Gets the singleton instance of a class, creating and initializing it if needed. A singleton is created and initialized exactly once, by the
+	 * first thread asking for it, without holding any lock: the other threads wait until it is ready. The thread initializing it gets the instance
+	 * not yet initialized if it asks for it again, i.e. if there is a cycle between the singletons. So does a thread asking for a singleton being
+	 * initialized by another thread which waits, directly or not, for a singleton the first thread is initializing: the cycle is then spread over
+	 * several threads, waiting would never end. If the initialization fails, the instance is dropped and the next call creates a new one. When the post construct methods run
+	 * asynchronously, the singleton is published once its post construct method has returned, or dropped if it failed.
+	 *
+	 * @param clazz
+	 * @param injector
+	 * @return Object
+	 * @throws InvocationException
+	 * @throws IllegalArgumentException
+	 */
+	Object get(final Class<?> clazz, final Injector injector) throws InvocationException, IllegalArgumentException {
+		final Holder cached = this.holders.get(clazz);
+		final Holder holder = cached != null ? cached : this.holders.computeIfAbsent(clazz, c -> new Holder());
+
+		final Object instance = holder.instance;
+
+		if (instance != null) {
+			this.metrics.recordSingletonHit(clazz);
+			return instance;
+		}
+
+		final Thread current = Thread.currentThread();
+
+		synchronized (holder) {
+			while (holder.state != State.NEW) {
+				if (holder.state == State.READY) {
+					this.metrics.recordSingletonHit(clazz);
+					return holder.instance;
+				}
+
+				if (holder.owner == current || !this.startWaiting(holder, current)) {
+					if (holder.created == null) {
+						throw new InvocationException(String.format("Circular dependency while creating singleton %s", clazz.getName()));
+					}
+					return holder.created;
+				}
+
+				try {
+					holder.wait();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InvocationException(e);
+				} finally {
+					synchronized (this.waiting) {
+						this.waiting.remove(current);
+					}
+				}
+			}
+
+			holder.state = State.CREATING;
+			holder.owner = current;
+		}
+
+		final StartupProfiler.Span span = this.profiler != null ? this.profiler.start(Kind.CREATE, clazz.getName()) : null;
+		final long start = System.nanoTime();
+		final Object created;
+
+		try {
+			injector.checkScopes(clazz);
+			created = Instantiator.of(clazz).newInstance(injector);
+		} catch (final DefinitionException e) {
+			this.reset(holder);
+			throw new InvocationException(e);
+		} catch (InvocationException | IllegalArgumentException | RuntimeException e) {
+			this.reset(holder);
+			throw e;
+		} finally {
+			if (span != null) {
+				span.end();
+			}
+		}
+
+		final long duration = System.nanoTime() - start;
+		this.metrics.recordSingletonCreation(clazz, duration);
+
+		if (this.trace != null) {
+			this.trace.record(TraceEvent.Kind.INSTANTIATION, clazz, null, duration);
+		}
+
+		synchronized (holder) {
+			holder.created = created;
+			holder.state = State.INITIALIZING;
+		}
+
+		try {
+			injector.initialize(created);
+		} catch (final DefinitionException e) {
+			this.reset(holder);
+			throw new InvocationException(e);
+		} catch (InvocationException | IllegalArgumentException | RuntimeException e) {
+			this.reset(holder);
+			throw e;
+		}
+
+		final CompletableFuture<Void> readiness = injector.readiness(created);
+
+		if (readiness.isDone() && !readiness.isCompletedExceptionally()) {
+			this.publish(holder);
+		} else {
+			// The post construct method runs asynchronously: the singleton is published only if it succeeds, the threads asking for it
+			// meanwhile (the current one included) wait for it
+			synchronized (holder) {
+				if (holder.created == created) {
+					holder.owner = null;
+				}
+			}
+
+			readiness.whenComplete((v, e) -> {
+				if (e == null) {
+					this.publish(holder);
+				} else {
+					this.reset(holder);
+				}
+			});
+		}
+
+		return created;
+	}
+
+	/**
+	 * Publishes a singleton ready, and wakes up the threads waiting for it
+	 *
+	 * @param holder
+	 */
+	private void publish(final Holder holder) {
+		synchronized (holder) {
+			holder.instance = holder.created;
+			holder.state = State.READY;
+			holder.created = null;
+			holder.owner = null;
+			holder.notifyAll();
+		}
+	}
+
+	/**
+	 * Records that a thread waits for a singleton, unless the owner of the singleton waits for the thread: waiting would never end
+	 *
+	 * @param holder
+	 * @param thread
+	 * @return boolean true if the thread can wait for the singleton, false if there is a cycle
+	 */
+	private boolean startWaiting(final Holder holder, final Thread thread) {
+		synchronized (this.waiting) {
+			if (this.isWaitingFor(holder.owner, thread)) {
+				return false;
+			}
+			this.waiting.put(thread, holder);
+			return true;
+		}
+	}
+
+	/**
+	 * Follows the singletons the threads are waiting for, from the owner of a singleton
+	 *
+	 * @param owner
+	 * @param thread
+	 * @return boolean true if the owner is the thread, or waits for a singleton owned by the thread, directly or not
+	 */
+	private boolean isWaitingFor(final Thread owner, final Thread thread) {
+		Thread waitingThread = owner;
+
+		// A cycle of waiting threads is broken as soon as it is formed, so the chain is at most as long as the number of waiting threads
+		for (int i = 0; waitingThread != null && i <= this.waiting.size(); i++) {
+			if (waitingThread == thread) {
+				return true;
+			}
+
+			final Holder holder = this.waiting.get(waitingThread);
+			waitingThread = holder != null ? holder.owner : null;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Drops a singleton which cannot be created or initialized, and wakes up the threads waiting for it
+	 *
+	 * @param holder
+	 */
+	private void reset(final Holder holder) {
+		synchronized (holder) {
+			holder.reset();
+			holder.notifyAll();
+		}
+	}
+
+	/**
+	 *
+	 * @param bean
+	 * @return boolean true if the bean is a singleton created by this registry, ready or being initialized
+	 */
+	boolean contains(final Object bean) {
+		final Holder holder = this.holders.get(bean.getClass());
+		return holder != null && (holder.instance == bean || holder.created == bean);
+	}
+
+	/**
+	 * The lifecycle of a singleton
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	private enum State {
+		/** Not created yet, or dropped after a failure */
+		NEW,
+		/** Being instantiated by its owner thread */
+		CREATING,
+		/** Members being injected by its owner thread, post construct method not called yet */
+		INITIALIZING,
+		/** Fully initialized and published */
+		READY
+	}
+
+	/**
+	 * State and instance of a singleton. The instance is published only once ready, the state and the owner are guarded by the holder, the owner
+	 * being also read without its lock to follow the graph of the waiting threads.
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	private static final class Holder {
+
+		private volatile Object instance;
+
+		private volatile Object created;
+
+		private State state = State.NEW;
+
+		private volatile Thread owner;
+
+		/**
+		 *
+		 */
+		private void reset() {
+			this.created = null;
+			this.owner = null;
+			this.state = State.NEW;
+		}
+
+	}
+
+}
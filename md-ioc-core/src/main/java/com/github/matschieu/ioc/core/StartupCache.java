@@ -0,0 +1,371 @@
+package com.github.matschieu.ioc.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary file storing what the container computes when it starts: the index of the implementations of each interface and the resolutions of
+ * the interfaces, unqualified and with the qualifiers of each implementation. The file is read at once and loaded instead of discovering the beans
+ * as long as its fingerprint matches the one of the classpath (the size and the modification time of its jars, of its directories and of the bean indexes)
+ * and of the configuration of the container, otherwise it is rebuilt.
+ * The file contains a table of the strings (class names, qualifiers and errors) followed by the index and the resolutions referencing the strings
+ * by their position in the table.
+ *
+ * @author Matschieu
+ *
+ */
+final class StartupCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StartupCache.class);
+
+	private static final int MAGIC = 0x4D44494F;
+
+	private static final int VERSION = 2;
+
+	private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+	/** Implementation id of a resolution without implementation */
+	private static final int NONE = -1;
+
+	/** Implementation id of a failed resolution, followed by the id of the error */
+	private static final int ERROR = -2;
+
+	private final Map<Class<?>, List<Class<?>>> applicationScope;
+
+	private final Map<ResolutionKey, Resolution> resolutions;
+
+	/**
+	 *
+	 * @param applicationScope
+	 * @param resolutions
+	 */
+	private StartupCache(final Map<Class<?>, List<Class<?>>> applicationScope, final Map<ResolutionKey, Resolution> resolutions) {
+		this.applicationScope = applicationScope;
+		this.resolutions = resolutions;
+	}
+
+	/**
+	 *
+	 * @return Map<Class<?>, List<Class<?>>> the immutable index of the implementations of each interface
+	 */
+	Map<Class<?>, List<Class<?>>> getApplicationScope() {
+		return this.applicationScope;
+	}
+
+	/**
+	 *
+	 * @return Map<ResolutionKey, Resolution>
+	 */
+	Map<ResolutionKey, Resolution> getResolutions() {
+		return this.resolutions;
+	}
+
+	/**
+	 * Computes the fingerprint of the classpath seen by the class loader and of the configuration of the discovery. Only the roots of the
+	 * classpath (jars and directories) and the bean indexes are fingerprinted, the files of the directories are not walked. Without base packages,
+	 * the loaded packages scanned instead are fingerprinted too.
+	 *
+	 * @param classLoader
+	 * @param configuration
+	 * @return byte[] or null if the classpath cannot be read
+	 */
+	static byte[] fingerprint(final ClassLoader classLoader, final ContainerConfiguration configuration) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+			digest.update(String.format("%s|%s|%s", configuration.getBasePackages(), configuration.getIncludes(), configuration.getExcludes()).getBytes(StandardCharsets.UTF_8));
+
+			if (configuration.getBasePackages().isEmpty()) {
+				// The loaded packages are scanned instead of the base packages, the beans depend on which of them are loaded
+				Arrays.stream(Package.getPackages()).map(Package::getName).filter(configuration::isIncluded).sorted()
+						.forEach(p -> digest.update((p + "|").getBytes(StandardCharsets.UTF_8)));
+			}
+
+			for (final Path entry : StartupCache.getClasspath(classLoader)) {
+				StartupCache.update(digest, entry);
+			}
+
+			for (final URL index : Collections.list(classLoader.getResources(BeanIndexReader.INDEX_LOCATION))) {
+				digest.update(index.toString().getBytes(StandardCharsets.UTF_8));
+
+				if ("file".equals(index.getProtocol())) {
+					StartupCache.update(digest, Paths.get(index.toURI()));
+				}
+			}
+
+			return digest.digest();
+		} catch (final IOException | URISyntaxException | NoSuchAlgorithmException e) {
+			LOGGER.warn("Cannot compute the fingerprint of the classpath, the startup cache is ignored: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 * @param digest
+	 * @param path
+	 * @throws IOException
+	 */
+	private static void update(final MessageDigest digest, final Path path) throws IOException {
+		final boolean exists = Files.exists(path);
+		digest.update(ByteBuffer.allocate(Long.BYTES * 2)
+				.putLong(exists ? Files.size(path) : -1)
+				.putLong(exists ? Files.getLastModifiedTime(path).toMillis() : -1)
+				.array());
+		digest.update(path.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 *
+	 * @param classLoader
+	 * @return Set<Path> the entries of the class path of the JVM and of the URL class loaders in the hierarchy of the class loader
+	 */
+	private static Set<Path> getClasspath(final ClassLoader classLoader) {
+		final Set<Path> entries = new LinkedHashSet<>();
+
+		for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+			if (loader instanceof URLClassLoader) {
+				for (final URL url : ((URLClassLoader)loader).getURLs()) {
+					try {
+						entries.add(Paths.get(url.toURI()));
+					} catch (final URISyntaxException | java.lang.IllegalArgumentException e) {
+						LOGGER.debug("Class path entry {} is not a file", url);
+					}
+				}
+			}
+		}
+
+		Arrays.stream(System.getProperty("java.class.path", "").split(File.pathSeparator)).filter(e -> !e.isEmpty()).map(e -> Paths.get(e)).forEach(entries::add);
+
+		return entries;
+	}
+
+	/**
+	 * Loads the cache if its fingerprint matches
+	 *
+	 * @param file
+	 * @param fingerprint
+	 * @param classLoader
+	 * @return StartupCache or null if the file does not exist, is not valid or does not match the fingerprint
+	 */
+	static StartupCache read(final Path file, final byte[] fingerprint, final ClassLoader classLoader) {
+		if (fingerprint == null || !Files.isRegularFile(file)) {
+			return null;
+		}
+
+		try {
+			final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				LOGGER.info("Startup cache {} has an unknown format, it will be rebuilt", file);
+				return null;
+			}
+
+			final byte[] storedFingerprint = new byte[buffer.getInt()];
+			buffer.get(storedFingerprint);
+
+			if (!Arrays.equals(fingerprint, storedFingerprint)) {
+				LOGGER.info("Classpath changed since startup cache {} was built, it will be rebuilt", file);
+				return null;
+			}
+
+			final String[] strings = new String[buffer.getInt()];
+
+			for (int i = 0; i < strings.length; i++) {
+				final byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			final Map<String, Class<?>> classes = new HashMap<>();
+			final Map<Class<?>, List<Class<?>>> applicationScope = new HashMap<>();
+			final int interfaceCount = buffer.getInt();
+
+			for (int i = 0; i < interfaceCount; i++) {
+				final Class<?> interfaceClass = StartupCache.loadClass(classLoader, classes, strings[buffer.getInt()]);
+				final Class<?>[] implementations = new Class<?>[buffer.getInt()];
+
+				for (int j = 0; j < implementations.length; j++) {
+					implementations[j] = StartupCache.loadClass(classLoader, classes, strings[buffer.getInt()]);
+				}
+
+				applicationScope.put(interfaceClass, List.of(implementations));
+			}
+
+			final Map<ResolutionKey, Resolution> resolutions = new HashMap<>();
+			final int resolutionCount = buffer.getInt();
+
+			for (int i = 0; i < resolutionCount; i++) {
+				final Class<?> type = StartupCache.loadClass(classLoader, classes, strings[buffer.getInt()]);
+				final List<String> qualifiers = new ArrayList<>();
+				final int qualifierCount = buffer.getInt();
+
+				for (int j = 0; j < qualifierCount; j++) {
+					qualifiers.add(strings[buffer.getInt()]);
+				}
+
+				final int implementation = buffer.getInt();
+				final Resolution resolution = implementation == NONE ? Resolution.of(null)
+						: implementation == ERROR ? Resolution.error(strings[buffer.getInt()])
+						: Resolution.of(StartupCache.loadClass(classLoader, classes, strings[implementation]));
+
+				resolutions.put(new ResolutionKey(type, QualifierKey.of(qualifiers)), resolution);
+			}
+
+			return new StartupCache(Map.copyOf(applicationScope), resolutions);
+		} catch (final IOException | RuntimeException | ClassNotFoundException | LinkageError e) {
+			LOGGER.warn("Cannot read startup cache {}, it will be rebuilt: {}", file, e.toString());
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 * @param classLoader
+	 * @param classes the classes already loaded
+	 * @param className
+	 * @return Class<?>
+	 * @throws ClassNotFoundException
+	 */
+	private static Class<?> loadClass(final ClassLoader classLoader, final Map<String, Class<?>> classes, final String className) throws ClassNotFoundException {
+		Class<?> loadedClass = classes.get(className);
+
+		if (loadedClass == null) {
+			loadedClass = Class.forName(className, false, classLoader);
+			classes.put(className, loadedClass);
+		}
+
+		return loadedClass;
+	}
+
+	/**
+	 * Writes the cache in a temporary file moved to the target file once complete, so that a concurrent start never reads a partial file
+	 *
+	 * @param file
+	 * @param fingerprint
+	 * @param applicationScope
+	 * @param resolutions
+	 */
+	static void write(final Path file, final byte[] fingerprint, final Map<Class<?>, List<Class<?>>> applicationScope, final Map<ResolutionKey, Resolution> resolutions) {
+		if (fingerprint == null) {
+			return;
+		}
+
+		final Map<String, Integer> strings = new LinkedHashMap<>();
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		try (DataOutputStream output = new DataOutputStream(body)) {
+			output.writeInt(applicationScope.size());
+
+			for (final Map.Entry<Class<?>, List<Class<?>>> entry : applicationScope.entrySet()) {
+				output.writeInt(StartupCache.idOf(strings, entry.getKey().getName()));
+				output.writeInt(entry.getValue().size());
+
+				for (final Class<?> implementation : entry.getValue()) {
+					output.writeInt(StartupCache.idOf(strings, implementation.getName()));
+				}
+			}
+
+			output.writeInt(resolutions.size());
+
+			for (final Map.Entry<ResolutionKey, Resolution> entry : resolutions.entrySet()) {
+				output.writeInt(StartupCache.idOf(strings, entry.getKey().getType().getName()));
+				output.writeInt(entry.getKey().getQualifiers().getQualifiers().size());
+
+				for (final String qualifier : entry.getKey().getQualifiers().getQualifiers()) {
+					output.writeInt(StartupCache.idOf(strings, qualifier));
+				}
+
+				final Resolution resolution = entry.getValue();
+
+				if (resolution.getError() != null) {
+					output.writeInt(ERROR);
+					output.writeInt(StartupCache.idOf(strings, resolution.getError()));
+				} else {
+					output.writeInt(resolution.getImplementation() != null ? StartupCache.idOf(strings, resolution.getImplementation().getName()) : NONE);
+				}
+			}
+		} catch (final IOException e) {
+			throw new IllegalStateException(e);
+		}
+
+		Path temporaryFile = null;
+
+		try {
+			final Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+			try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temporaryFile))) {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeInt(fingerprint.length);
+				output.write(fingerprint);
+				output.writeInt(strings.size());
+
+				for (final String string : strings.keySet()) {
+					final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+					output.writeInt(bytes.length);
+					output.write(bytes);
+				}
+
+				body.writeTo(output);
+			}
+
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOGGER.info("Startup cache written to {}", file);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot write startup cache {}: {}", file, e.getMessage());
+			StartupCache.delete(temporaryFile);
+		}
+	}
+
+	/**
+	 *
+	 * @param file may be null
+	 */
+	private static void delete(final Path file) {
+		try {
+			if (file != null) {
+				Files.deleteIfExists(file);
+			}
+		} catch (final IOException e) {
+			LOGGER.debug("Cannot delete {}: {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 *
+	 * @param strings
+	 * @param string
+	 * @return int the position of the string in the table
+	 */
+	private static int idOf(final Map<String, Integer> strings, final String string) {
+		return strings.computeIfAbsent(string, s -> strings.size());
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.github.matschieu.ioc.core.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean whose instances are recycled through a bounded pool instead of being created on each injection.
+ * An instance is borrowed from the pool when it is injected, and must be given back with {@link com.github.matschieu.ioc.core.Container#release(Object)}
+ * once it is not used anymore: its method annotated with {@link Reset} is then called and it is kept for the next injection, unless the pool is full.
+ * The members of a pooled instance are injected and its post construct method called only once, when it is created.
+ *
+ * @author Matschieu
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Pooled {
+
+	/**
+	 *
+	 * @return int the maximum number of idle instances kept by the pool
+	 */
+	int max() default 16;
+
+}
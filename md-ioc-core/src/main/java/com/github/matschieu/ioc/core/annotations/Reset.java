@@ -0,0 +1,21 @@
+package com.github.matschieu.ioc.core.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the method of a {@link Pooled} bean called when an instance is given back to its pool, to clear its state before it is reused.
+ * The method must be declared by the bean class, return void and take no parameter.
+ *
+ * @author Matschieu
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Reset {
+
+}
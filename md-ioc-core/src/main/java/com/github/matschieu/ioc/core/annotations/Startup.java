@@ -0,0 +1,21 @@
+package com.github.matschieu.ioc.core.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a singleton to create and initialize when the container starts instead of on its first injection, along with the singletons it depends on.
+ * The annotation is ignored on a class which is not annotated with @Singleton or which is not discovered by the container.
+ *
+ * @author Matschieu
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Startup {
+
+}
@@ -0,0 +1,24 @@
+package com.github.matschieu.ioc.core.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.inject.Scope;
+
+/**
+ * Marks a bean created once per thread: the instance is shared by the injections done on the same thread until the thread scope ends
+ * (see {@link com.github.matschieu.ioc.core.Container#endThreadScope()}).
+ *
+ * @author Matschieu
+ *
+ */
+@Documented
+@Scope
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ThreadScoped {
+
+}
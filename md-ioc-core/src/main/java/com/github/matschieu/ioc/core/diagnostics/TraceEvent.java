@@ -0,0 +1,133 @@
+package com.github.matschieu.ioc.core.diagnostics;
+
+/**
+ * An event of the injector read from a {@link TraceRecorder}
+ *
+ * @author Matschieu
+ *
+ */
+public final class TraceEvent {
+
+	/**
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	public enum Kind {
+		/** An implementation resolved for a requested type */
+		RESOLUTION,
+		/** A bean instantiated */
+		INSTANTIATION,
+		/** A post construct method called */
+		POST_CONSTRUCT,
+		/** An injection failed */
+		ERROR
+	}
+
+	private final long sequence;
+
+	private final long timestamp;
+
+	private final long threadId;
+
+	private final Kind kind;
+
+	private final Class<?> type;
+
+	private final Class<?> implementation;
+
+	private final long duration;
+
+	/**
+	 *
+	 * @param sequence
+	 * @param timestamp
+	 * @param threadId
+	 * @param kind
+	 * @param type
+	 * @param implementation
+	 * @param duration
+	 */
+	TraceEvent(final long sequence, final long timestamp, final long threadId, final Kind kind, final Class<?> type, final Class<?> implementation, final long duration) {
+		this.sequence = sequence;
+		this.timestamp = timestamp;
+		this.threadId = threadId;
+		this.kind = kind;
+		this.type = type;
+		this.implementation = implementation;
+		this.duration = duration;
+	}
+
+	/**
+	 *
+	 * @return long the number of events recorded before this one
+	 */
+	public long getSequence() {
+		return this.sequence;
+	}
+
+	/**
+	 *
+	 * @return long the time of the event, from System.nanoTime()
+	 */
+	public long getTimestamp() {
+		return this.timestamp;
+	}
+
+	/**
+	 *
+	 * @return long the id of the thread which recorded the event
+	 */
+	public long getThreadId() {
+		return this.threadId;
+	}
+
+	/**
+	 *
+	 * @return Kind
+	 */
+	public Kind getKind() {
+		return this.kind;
+	}
+
+	/**
+	 *
+	 * @return Class<?> the requested type, or the bean class
+	 */
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	/**
+	 *
+	 * @return Class<?> the implementation resolved, null if there is none or if the event is not a resolution
+	 */
+	public Class<?> getImplementation() {
+		return this.implementation;
+	}
+
+	/**
+	 *
+	 * @return long the duration in nanoseconds, 0 if it is not measured
+	 */
+	public long getDuration() {
+		return this.duration;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder str = new StringBuilder().append('#').append(this.sequence).append(" [thread ").append(this.threadId).append("] ").append(this.kind).append(' ')
+				.append(this.type != null ? this.type.getName() : null);
+
+		if (this.kind == Kind.RESOLUTION) {
+			str.append(" -> ").append(this.implementation != null ? this.implementation.getName() : null);
+		}
+
+		if (this.duration > 0) {
+			str.append(" (").append(this.duration).append(" ns)");
+		}
+
+		return str.toString();
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.github.matschieu.ioc.core.diagnostics;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.github.matschieu.ioc.core.diagnostics.TraceEvent.Kind;
+
+/**
+ * Fixed-size ring buffer of the last events of the injector (resolutions, instantiations, post construct methods and errors), to be dumped on demand or when an
+ * injection fails. The events are stored in preallocated parallel arrays, so recording an event allocates nothing and takes no lock: a writer claims a slot by
+ * incrementing a counter, and publishes the slot through its sequence number once the fields are written. A reader ignores the slots being written or
+ * overwritten while it reads them, the oldest events being overwritten by the newest ones.
+ *
+ * @author Matschieu
+ *
+ */
+public final class TraceRecorder {
+
+	/** Sequence of a slot being written */
+	private static final long WRITING = -1;
+
+	private final int mask;
+
+	private final AtomicLong next = new AtomicLong();
+
+	private final AtomicLongArray sequences;
+
+	private final long[] timestamps;
+
+	private final long[] threadIds;
+
+	private final Kind[] kinds;
+
+	private final Class<?>[] types;
+
+	private final Class<?>[] implementations;
+
+	private final long[] durations;
+
+	/**
+	 *
+	 * @param capacity the number of events kept, rounded up to a power of two
+	 * @throws IllegalArgumentException if the capacity is not positive
+	 */
+	public TraceRecorder(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+		}
+
+		final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+		this.mask = size - 1;
+		this.sequences = new AtomicLongArray(size);
+		this.timestamps = new long[size];
+		this.threadIds = new long[size];
+		this.kinds = new Kind[size];
+		this.types = new Class<?>[size];
+		this.implementations = new Class<?>[size];
+		this.durations = new long[size];
+
+		for (int i = 0; i < size; i++) {
+			this.sequences.set(i, WRITING);
+		}
+	}
+
+	/**
+	 *
+	 * @return int the number of events kept
+	 */
+	public int getCapacity() {
+		return this.mask + 1;
+	}
+
+	/**
+	 *
+	 * @return long the number of events recorded since the creation of the recorder
+	 */
+	public long getRecorded() {
+		return this.next.get();
+	}
+
+	/**
+	 *
+	 * @param kind
+	 * @param type
+	 * @param implementation
+	 * @param duration in nanoseconds, 0 if not measured
+	 */
+	@SuppressWarnings("deprecation")
+	public void record(final Kind kind, final Class<?> type, final Class<?> implementation, final long duration) {
+		final long sequence = this.next.getAndIncrement();
+		final int slot = (int)(sequence & this.mask);
+
+		this.sequences.set(slot, WRITING);
+		VarHandle.storeStoreFence();
+		this.timestamps[slot] = System.nanoTime();
+		this.threadIds[slot] = Thread.currentThread().getId();
+		this.kinds[slot] = kind;
+		this.types[slot] = type;
+		this.implementations[slot] = implementation;
+		this.durations[slot] = duration;
+		this.sequences.set(slot, sequence);
+	}
+
+	/**
+	 *
+	 * @return List<TraceEvent> the events kept, from the oldest to the newest
+	 */
+	public List<TraceEvent> snapshot() {
+		final long last = this.next.get();
+		final long first = Math.max(0, last - this.getCapacity());
+		final List<TraceEvent> events = new ArrayList<>((int)(last - first));
+
+		for (long sequence = first; sequence < last; sequence++) {
+			final int slot = (int)(sequence & this.mask);
+
+			if (this.sequences.get(slot) != sequence) {
+				continue;
+			}
+
+			final TraceEvent event = new TraceEvent(sequence, this.timestamps[slot], this.threadIds[slot], this.kinds[slot], this.types[slot], this.implementations[slot], this.durations[slot]);
+
+			// Overwritten while being read
+			VarHandle.loadLoadFence();
+			if (this.sequences.get(slot) == sequence) {
+				events.add(event);
+			}
+		}
+
+		return events;
+	}
+
+	/**
+	 *
+	 * @return String the events kept, one per line
+	 */
+	public String dump() {
+		final StringBuilder dump = new StringBuilder();
+		this.snapshot().forEach(e -> dump.append(e).append(System.lineSeparator()));
+		return dump.toString();
+	}
+
+}
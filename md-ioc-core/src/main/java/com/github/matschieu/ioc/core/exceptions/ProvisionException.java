@@ -0,0 +1,54 @@
+package com.github.matschieu.ioc.core.exceptions;
+
+/**
+ * Thrown by the providers injected in the beans, as {@link javax.inject.Provider#get()} cannot throw a checked exception
+ *
+ * @author Matschieu
+ *
+ */
+public class ProvisionException extends RuntimeException {
+
+	private static final long serialVersionUID = -3207612412315866493L;
+
+	/**
+	 *
+	 */
+	public ProvisionException() {}
+
+	/**
+	 *
+	 * @param message
+	 */
+	public ProvisionException(final String message) {
+		super(message);
+	}
+
+	/**
+	 *
+	 * @param cause
+	 */
+	public ProvisionException(final Throwable cause) {
+		super(cause);
+	}
+
+	/**
+	 *
+	 * @param message
+	 * @param cause
+	 */
+	public ProvisionException(final String message, final Throwable cause) {
+		super(message, cause);
+	}
+
+	/**
+	 *
+	 * @param message
+	 * @param cause
+	 * @param enableSuppression
+	 * @param writableStackTrace
+	 */
+	public ProvisionException(final String message, final Throwable cause, final boolean enableSuppression, final boolean writableStackTrace) {
+		super(message, cause, enableSuppression, writableStackTrace);
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.github.matschieu.ioc.core.metrics;
+
+import java.util.Map;
+
+/**
+ * Read access to the metrics collected by a container, the durations being in nanoseconds.
+ *
+ * @author Matschieu
+ *
+ */
+public interface ContainerMetrics {
+
+	/**
+	 *
+	 * @return LatencyHistogram.Snapshot
+	 */
+	LatencyHistogram.Snapshot getDiscoveryTime();
+
+	/**
+	 *
+	 * @return int the number of interfaces found by the last discovery
+	 */
+	int getDiscoveredInterfaces();
+
+	/**
+	 *
+	 * @return Map<Class<?>, Long> the number of resolutions of each type injected
+	 */
+	Map<Class<?>, Long> getResolutionCounts();
+
+	/**
+	 *
+	 * @param type
+	 * @return long
+	 */
+	long getResolutionCount(Class<?> type);
+
+	/**
+	 *
+	 * @return long the number of resolutions served by the resolution cache
+	 */
+	long getResolutionCacheHits();
+
+	/**
+	 *
+	 * @return long the number of resolutions computed
+	 */
+	long getResolutionCacheMisses();
+
+	/**
+	 *
+	 * @return double between 0 and 1
+	 */
+	default double getResolutionCacheHitRate() {
+		final long hits = this.getResolutionCacheHits();
+		final long total = hits + this.getResolutionCacheMisses();
+		return total > 0 ? (double)hits / total : 0;
+	}
+
+	/**
+	 *
+	 * @return long the number of lookups of an existing singleton
+	 */
+	long getSingletonHits();
+
+	/**
+	 *
+	 * @return long the number of singletons created
+	 */
+	default long getSingletonCreations() {
+		return this.getSingletonCreationTime().getCount();
+	}
+
+	/**
+	 *
+	 * @return LatencyHistogram.Snapshot
+	 */
+	LatencyHistogram.Snapshot getSingletonCreationTime();
+
+	/**
+	 *
+	 * @return LatencyHistogram.Snapshot the time spent creating the dependent (i.e. non singleton) beans
+	 */
+	LatencyHistogram.Snapshot getInstantiationTime();
+
+	/**
+	 *
+	 * @return LatencyHistogram.Snapshot
+	 */
+	LatencyHistogram.Snapshot getPostConstructTime();
+
+	/**
+	 *
+	 * @return LatencyHistogram.Snapshot the time spent initializing the singletons when the container starts, empty if there was no warm-up
+	 */
+	LatencyHistogram.Snapshot getWarmUpTime();
+
+	/**
+	 *
+	 * @return int the number of singletons initialized by the last warm-up
+	 */
+	int getWarmedUpSingletons();
+
+}
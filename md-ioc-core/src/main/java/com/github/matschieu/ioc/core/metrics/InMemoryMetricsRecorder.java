@@ -0,0 +1,150 @@
+package com.github.matschieu.ioc.core.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the metrics in memory with lock-free counters and histograms, and exposes them as {@link ContainerMetrics}.
+ *
+ * @author Matschieu
+ *
+ */
+public class InMemoryMetricsRecorder implements MetricsRecorder, ContainerMetrics {
+
+	private final LatencyHistogram discoveryTime = new LatencyHistogram();
+
+	private volatile int discoveredInterfaces;
+
+	private final Map<Class<?>, LongAdder> resolutionCounts = new ConcurrentHashMap<>();
+
+	private final LongAdder resolutionCacheHits = new LongAdder();
+
+	private final LongAdder resolutionCacheMisses = new LongAdder();
+
+	private final LongAdder singletonHits = new LongAdder();
+
+	private final LatencyHistogram singletonCreationTime = new LatencyHistogram();
+
+	private final LatencyHistogram instantiationTime = new LatencyHistogram();
+
+	private final LatencyHistogram postConstructTime = new LatencyHistogram();
+
+	private final LatencyHistogram warmUpTime = new LatencyHistogram();
+
+	private volatile int warmedUpSingletons;
+
+	@Override
+	public void recordDiscovery(final long nanos, final int interfaces) {
+		this.discoveryTime.record(nanos);
+		this.discoveredInterfaces = interfaces;
+	}
+
+	@Override
+	public void recordResolution(final Class<?> type, final boolean cached) {
+		LongAdder count = this.resolutionCounts.get(type);
+
+		if (count == null) {
+			count = this.resolutionCounts.computeIfAbsent(type, t -> new LongAdder());
+		}
+
+		count.increment();
+		(cached ? this.resolutionCacheHits : this.resolutionCacheMisses).increment();
+	}
+
+	@Override
+	public void recordSingletonHit(final Class<?> type) {
+		this.singletonHits.increment();
+	}
+
+	@Override
+	public void recordSingletonCreation(final Class<?> type, final long nanos) {
+		this.singletonCreationTime.record(nanos);
+	}
+
+	@Override
+	public void recordInstantiation(final Class<?> type, final long nanos) {
+		this.instantiationTime.record(nanos);
+	}
+
+	@Override
+	public void recordPostConstruct(final Class<?> type, final long nanos) {
+		this.postConstructTime.record(nanos);
+	}
+
+	@Override
+	public void recordWarmUp(final long nanos, final int singletons) {
+		this.warmUpTime.record(nanos);
+		this.warmedUpSingletons = singletons;
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getDiscoveryTime() {
+		return this.discoveryTime.snapshot();
+	}
+
+	@Override
+	public int getDiscoveredInterfaces() {
+		return this.discoveredInterfaces;
+	}
+
+	@Override
+	public Map<Class<?>, Long> getResolutionCounts() {
+		return this.resolutionCounts.entrySet().stream().collect(Collectors.toUnmodifiableMap(e -> e.getKey(), e -> e.getValue().sum()));
+	}
+
+	@Override
+	public long getResolutionCount(final Class<?> type) {
+		final LongAdder count = this.resolutionCounts.get(type);
+		return count != null ? count.sum() : 0;
+	}
+
+	@Override
+	public long getResolutionCacheHits() {
+		return this.resolutionCacheHits.sum();
+	}
+
+	@Override
+	public long getResolutionCacheMisses() {
+		return this.resolutionCacheMisses.sum();
+	}
+
+	@Override
+	public long getSingletonHits() {
+		return this.singletonHits.sum();
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getSingletonCreationTime() {
+		return this.singletonCreationTime.snapshot();
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getInstantiationTime() {
+		return this.instantiationTime.snapshot();
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getPostConstructTime() {
+		return this.postConstructTime.snapshot();
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getWarmUpTime() {
+		return this.warmUpTime.snapshot();
+	}
+
+	@Override
+	public int getWarmedUpSingletons() {
+		return this.warmedUpSingletons;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("discovery=[%s], resolutions=[hits=%d, misses=%d], singletons=[hits=%d, creations=%s], instantiations=[%s], postConstructs=[%s], warmUp=[%s, singletons=%d]",
+				this.getDiscoveryTime(), this.getResolutionCacheHits(), this.getResolutionCacheMisses(), this.getSingletonHits(), this.getSingletonCreationTime(),
+				this.getInstantiationTime(), this.getPostConstructTime(), this.getWarmUpTime(), this.getWarmedUpSingletons());
+	}
+
+}
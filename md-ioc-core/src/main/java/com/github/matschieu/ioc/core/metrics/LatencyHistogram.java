@@ -0,0 +1,144 @@
+package com.github.matschieu.ioc.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations, with one bucket per power of two: the bucket 0 counts the zeros and the bucket i the values in [2^(i-1), 2^i - 1].
+ * The percentiles are therefore approximated by the upper bound of their bucket, i.e. with an error of at most a factor 2.
+ *
+ * @author Matschieu
+ *
+ */
+public final class LatencyHistogram {
+
+	private static final int BUCKETS = Long.SIZE;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	private final LongAdder total = new LongAdder();
+
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 *
+	 * @param value a duration, the negative values being recorded as 0
+	 */
+	public void record(final long value) {
+		final long positiveValue = Math.max(0, value);
+
+		this.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(positiveValue));
+		this.total.add(positiveValue);
+		this.max.accumulate(positiveValue);
+	}
+
+	/**
+	 * The snapshot is not atomic: the values recorded while it is taken may be partially included
+	 *
+	 * @return Snapshot
+	 */
+	public Snapshot snapshot() {
+		final long[] counts = new long[BUCKETS];
+
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = this.buckets.get(i);
+		}
+
+		return new Snapshot(counts, this.total.sum(), this.max.get());
+	}
+
+	/**
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	public static final class Snapshot {
+
+		private final long[] counts;
+
+		private final long count;
+
+		private final long total;
+
+		private final long max;
+
+		/**
+		 *
+		 * @param counts
+		 * @param total
+		 * @param max
+		 */
+		private Snapshot(final long[] counts, final long total, final long max) {
+			long count = 0;
+
+			for (final long bucketCount : counts) {
+				count += bucketCount;
+			}
+
+			this.counts = counts;
+			this.count = count;
+			this.total = total;
+			this.max = max;
+		}
+
+		/**
+		 *
+		 * @return long
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 *
+		 * @return long the sum of the values
+		 */
+		public long getTotal() {
+			return this.total;
+		}
+
+		/**
+		 *
+		 * @return long
+		 */
+		public long getMax() {
+			return this.max;
+		}
+
+		/**
+		 *
+		 * @return double
+		 */
+		public double getMean() {
+			return this.count > 0 ? (double)this.total / this.count : 0;
+		}
+
+		/**
+		 *
+		 * @param percentile between 0 and 100
+		 * @return long the upper bound of the bucket containing the percentile, never greater than the max
+		 */
+		public long getPercentile(final double percentile) {
+			final long rank = (long)Math.ceil(this.count * Math.min(100, Math.max(0, percentile)) / 100);
+			long seen = 0;
+
+			for (int i = 0; i < this.counts.length; i++) {
+				seen += this.counts[i];
+
+				if (seen >= rank && seen > 0) {
+					return Math.min((1L << i) - 1, this.max);
+				}
+			}
+
+			return 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("count=%d, mean=%.1f, p50=%d, p99=%d, max=%d", this.count, this.getMean(), this.getPercentile(50), this.getPercentile(99), this.max);
+		}
+
+	}
+
+}
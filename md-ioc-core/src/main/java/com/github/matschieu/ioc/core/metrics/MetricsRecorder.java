@@ -0,0 +1,79 @@
+package com.github.matschieu.ioc.core.metrics;
+
+/**
+ * SPI receiving the events of a container, to be plugged through the {@link com.github.matschieu.ioc.core.ContainerConfiguration}.
+ * The methods are called on the injection hot path, from any thread, so an implementation must be thread-safe and should not block.
+ * The durations are in nanoseconds.
+ *
+ * @author Matschieu
+ *
+ */
+public interface MetricsRecorder {
+
+	/**
+	 * The default recorder, ignoring all the events
+	 */
+	MetricsRecorder NOOP = new MetricsRecorder() {
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+	};
+
+	/**
+	 *
+	 * @return boolean false if the events are ignored, so that the container does not even measure the durations
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 *
+	 * @param nanos the time spent discovering the beans when the container starts
+	 * @param interfaces the number of interfaces having at least one implementation
+	 */
+	default void recordDiscovery(final long nanos, final int interfaces) {}
+
+	/**
+	 *
+	 * @param type the type to inject
+	 * @param cached true if the implementation was already resolved
+	 */
+	default void recordResolution(final Class<?> type, final boolean cached) {}
+
+	/**
+	 *
+	 * @param type a singleton already created
+	 */
+	default void recordSingletonHit(final Class<?> type) {}
+
+	/**
+	 *
+	 * @param type
+	 * @param nanos the time spent creating the singleton
+	 */
+	default void recordSingletonCreation(final Class<?> type, final long nanos) {}
+
+	/**
+	 *
+	 * @param type
+	 * @param nanos the time spent creating an instance of a dependent (i.e. non singleton) bean
+	 */
+	default void recordInstantiation(final Class<?> type, final long nanos) {}
+
+	/**
+	 *
+	 * @param type
+	 * @param nanos the time spent in the post construct method of the bean
+	 */
+	default void recordPostConstruct(final Class<?> type, final long nanos) {}
+
+	/**
+	 *
+	 * @param nanos the time spent initializing the singletons when the container starts
+	 * @param singletons the number of singletons initialized
+	 */
+	default void recordWarmUp(final long nanos, final int singletons) {}
+
+}
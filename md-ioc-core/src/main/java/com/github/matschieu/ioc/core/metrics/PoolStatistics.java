@@ -0,0 +1,124 @@
+package com.github.matschieu.ioc.core.metrics;
+
+/**
+ * Statistics of the pool of a pooled bean. They are read without any lock, so they may be slightly inconsistent with each other while the pool is used.
+ *
+ * @author Matschieu
+ *
+ */
+public final class PoolStatistics {
+
+	private final Class<?> type;
+
+	private final int max;
+
+	private final int idle;
+
+	private final long hits;
+
+	private final long misses;
+
+	private final long releases;
+
+	private final long discarded;
+
+	/**
+	 *
+	 * @param type
+	 * @param max
+	 * @param idle
+	 * @param hits
+	 * @param misses
+	 * @param releases
+	 * @param discarded
+	 */
+	public PoolStatistics(final Class<?> type, final int max, final int idle, final long hits, final long misses, final long releases, final long discarded) {
+		this.type = type;
+		this.max = max;
+		this.idle = idle;
+		this.hits = hits;
+		this.misses = misses;
+		this.releases = releases;
+		this.discarded = discarded;
+	}
+
+	/**
+	 *
+	 * @return Class<?> the pooled bean class
+	 */
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	/**
+	 *
+	 * @return int the maximum number of idle instances
+	 */
+	public int getMax() {
+		return this.max;
+	}
+
+	/**
+	 *
+	 * @return int the number of instances waiting in the pool
+	 */
+	public int getIdle() {
+		return this.idle;
+	}
+
+	/**
+	 *
+	 * @return long the number of instances borrowed and not released yet
+	 */
+	public long getInUse() {
+		return Math.max(0, this.hits + this.misses - this.releases);
+	}
+
+	/**
+	 *
+	 * @return long the number of borrowings served by an idle instance
+	 */
+	public long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 *
+	 * @return long the number of borrowings which created an instance
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 *
+	 * @return double between 0 and 1
+	 */
+	public double getHitRate() {
+		final long total = this.hits + this.misses;
+		return total > 0 ? (double)this.hits / total : 0;
+	}
+
+	/**
+	 *
+	 * @return long the number of instances released
+	 */
+	public long getReleases() {
+		return this.releases;
+	}
+
+	/**
+	 *
+	 * @return long the number of instances released while the pool was full, or whose reset failed, and therefore dropped
+	 */
+	public long getDiscarded() {
+		return this.discarded;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PoolStatistics[type=%s, max=%d, idle=%d, inUse=%d, hits=%d, misses=%d, releases=%d, discarded=%d]",
+				this.type.getName(), this.max, this.idle, this.getInUse(), this.hits, this.misses, this.releases, this.discarded);
+	}
+
+}
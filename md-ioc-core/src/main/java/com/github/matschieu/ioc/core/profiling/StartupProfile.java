@@ -0,0 +1,319 @@
+package com.github.matschieu.ioc.core.profiling;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Kind;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Span;
+
+/**
+ * The steps recorded by a {@link StartupProfiler}, as a graph where each step depends on its children, exportable in DOT and JSON.
+ * The critical path goes from the longest root step down to the leaves, following at each level the longest child: it is the chain of
+ * dependencies to optimize first to shorten the startup.
+ *
+ * @author Matschieu
+ *
+ */
+public final class StartupProfile {
+
+	private final List<Node> roots;
+
+	private final List<Node> nodes = new ArrayList<>();
+
+	private final List<Node> criticalPath;
+
+	private final int droppedSpans;
+
+	/**
+	 *
+	 * @param origin
+	 * @param spans
+	 * @param droppedSpans
+	 */
+	StartupProfile(final long origin, final Collection<Span> spans, final int droppedSpans) {
+		this.roots = this.toNodes(origin, spans);
+		this.criticalPath = StartupProfile.findCriticalPath(this.roots);
+		this.droppedSpans = droppedSpans;
+	}
+
+	/**
+	 *
+	 * @param origin
+	 * @param spans
+	 * @return List<Node>
+	 */
+	private List<Node> toNodes(final long origin, final Collection<Span> spans) {
+		final List<Node> nodes = new ArrayList<>();
+
+		for (final Span span : spans) {
+			// The spans still running when the profile is built are not part of it
+			if (span.end != 0) {
+				final Node node = new Node(this.nodes.size(), span.kind, span.name, span.thread, span.start - origin, span.end - span.start);
+				this.nodes.add(node);
+				node.children = this.toNodes(origin, span.children);
+				nodes.add(node);
+			}
+		}
+
+		return Collections.unmodifiableList(nodes);
+	}
+
+	/**
+	 *
+	 * @param roots
+	 * @return List<Node>
+	 */
+	private static List<Node> findCriticalPath(final List<Node> roots) {
+		final List<Node> path = new ArrayList<>();
+		List<Node> candidates = roots;
+
+		while (!candidates.isEmpty()) {
+			final Node longest = candidates.stream().max(Comparator.comparingLong(Node::getDuration)).get();
+			path.add(longest);
+			candidates = longest.getChildren();
+		}
+
+		return Collections.unmodifiableList(path);
+	}
+
+	/**
+	 *
+	 * @return List<Node> the steps recorded outside of any other one, in their start order
+	 */
+	public List<Node> getRoots() {
+		return this.roots;
+	}
+
+	/**
+	 *
+	 * @return int the number of steps not recorded as the maximum number of spans of the profiler was reached
+	 */
+	public int getDroppedSpans() {
+		return this.droppedSpans;
+	}
+
+	/**
+	 *
+	 * @return List<Node> all the steps, indexed by their id
+	 */
+	public List<Node> getNodes() {
+		return Collections.unmodifiableList(this.nodes);
+	}
+
+	/**
+	 *
+	 * @return List<Node>
+	 */
+	public List<Node> getCriticalPath() {
+		return this.criticalPath;
+	}
+
+	/**
+	 *
+	 * @param nanos
+	 * @return String
+	 */
+	private static String formatMillis(final long nanos) {
+		return String.format("%.3f ms", nanos / (double)TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	/**
+	 *
+	 * @param str
+	 * @return String
+	 */
+	private static String escape(final String str) {
+		final StringBuilder escaped = new StringBuilder();
+
+		for (final char c : str.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				escaped.append('\\').append(c);
+			} else if (c < ' ') {
+				escaped.append(String.format("\\u%04x", (int)c));
+			} else {
+				escaped.append(c);
+			}
+		}
+
+		return escaped.toString();
+	}
+
+	/**
+	 * Exports the graph in the Graphviz format, the nodes of the critical path being drawn in red
+	 *
+	 * @return String
+	 */
+	public String toDot() {
+		final Set<Node> critical = new HashSet<>(this.criticalPath);
+		final StringBuilder dot = new StringBuilder("digraph startup {\n\trankdir=LR;\n\tnode [shape=box];\n");
+
+		for (final Node node : this.nodes) {
+			dot.append(String.format("\tn%d [label=\"%s %s\\n%s (self %s)\"%s];\n", node.getId(), node.getKind(), StartupProfile.escape(node.getName()),
+					StartupProfile.formatMillis(node.getDuration()), StartupProfile.formatMillis(node.getSelfDuration()), critical.contains(node) ? ", color=red, penwidth=2" : ""));
+		}
+
+		for (final Node node : this.nodes) {
+			for (final Node child : node.getChildren()) {
+				dot.append(String.format("\tn%d -> n%d%s;\n", node.getId(), child.getId(), critical.contains(node) && critical.contains(child) ? " [color=red, penwidth=2]" : ""));
+			}
+		}
+
+		return dot.append("}\n").toString();
+	}
+
+	/**
+	 * Exports the graph in JSON, the durations being in nanoseconds
+	 *
+	 * @return String
+	 */
+	public String toJson() {
+		final Set<Node> critical = new HashSet<>(this.criticalPath);
+		final StringBuilder json = new StringBuilder("{\n");
+
+		json.append("\t\"roots\": ").append(StartupProfile.toJsonIds(this.roots)).append(",\n");
+		json.append("\t\"criticalPath\": ").append(StartupProfile.toJsonIds(this.criticalPath)).append(",\n");
+		json.append("\t\"nodes\": [");
+
+		for (final Node node : this.nodes) {
+			json.append(node.getId() > 0 ? ",\n" : "\n");
+			json.append(String.format("\t\t{\"id\": %d, \"kind\": \"%s\", \"name\": \"%s\", \"thread\": \"%s\", \"start\": %d, \"duration\": %d, \"self\": %d, \"critical\": %b, \"children\": %s}",
+					node.getId(), node.getKind(), StartupProfile.escape(node.getName()), StartupProfile.escape(node.getThread()), node.getStart(), node.getDuration(),
+					node.getSelfDuration(), critical.contains(node), StartupProfile.toJsonIds(node.getChildren())));
+		}
+
+		return json.append("\n\t]\n}\n").toString();
+	}
+
+	/**
+	 *
+	 * @param nodes
+	 * @return String
+	 */
+	private static String toJsonIds(final List<Node> nodes) {
+		final StringBuilder ids = new StringBuilder("[");
+
+		for (int i = 0; i < nodes.size(); i++) {
+			ids.append(i > 0 ? ", " : "").append(nodes.get(i).getId());
+		}
+
+		return ids.append(']').toString();
+	}
+
+	/**
+	 * A recorded step, the times being in nanoseconds
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	public static final class Node {
+
+		private final int id;
+
+		private final Kind kind;
+
+		private final String name;
+
+		private final String thread;
+
+		private final long start;
+
+		private final long duration;
+
+		private List<Node> children;
+
+		/**
+		 *
+		 * @param id
+		 * @param kind
+		 * @param name
+		 * @param thread
+		 * @param start
+		 * @param duration
+		 */
+		private Node(final int id, final Kind kind, final String name, final String thread, final long start, final long duration) {
+			this.id = id;
+			this.kind = kind;
+			this.name = name;
+			this.thread = thread;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		/**
+		 *
+		 * @return int
+		 */
+		public int getId() {
+			return this.id;
+		}
+
+		/**
+		 *
+		 * @return Kind
+		 */
+		public Kind getKind() {
+			return this.kind;
+		}
+
+		/**
+		 *
+		 * @return String the bean class, the package or the step name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 *
+		 * @return String
+		 */
+		public String getThread() {
+			return this.thread;
+		}
+
+		/**
+		 *
+		 * @return long the start time, relative to the creation of the profiler
+		 */
+		public long getStart() {
+			return this.start;
+		}
+
+		/**
+		 *
+		 * @return long
+		 */
+		public long getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 *
+		 * @return long the duration minus the duration of the children
+		 */
+		public long getSelfDuration() {
+			return Math.max(0, this.duration - this.children.stream().mapToLong(Node::getDuration).sum());
+		}
+
+		/**
+		 *
+		 * @return List<Node> the steps this one depends on
+		 */
+		public List<Node> getChildren() {
+			return this.children;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s %s (%s)", this.kind, this.name, StartupProfile.formatMillis(this.duration));
+		}
+
+	}
+
+}
@@ -0,0 +1,208 @@
+package com.github.matschieu.ioc.core.profiling;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the wall time of the steps of the startup of a container (discovery, creation and initialization of the beans) as a tree of spans.
+ * The spans are nested per thread: a span started while another one is running on the same thread is one of its children.
+ * The recording stops when the profile is built, the spans started afterwards are ignored. As the profile may never be built, at most
+ * {@value #MAX_SPANS} spans are recorded by default, the next ones being ignored and counted as dropped.
+ *
+ * @author Matschieu
+ *
+ */
+public final class StartupProfiler {
+
+	public static final int MAX_SPANS = 10_000;
+
+	private final long origin = System.nanoTime();
+
+	private final int maxSpans;
+
+	private final AtomicInteger recorded = new AtomicInteger();
+
+	private final LongAdder dropped = new LongAdder();
+
+	private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+	private final Queue<Span> roots = new ConcurrentLinkedQueue<>();
+
+	private volatile StartupProfile profile;
+
+	/**
+	 *
+	 */
+	public StartupProfiler() {
+		this(MAX_SPANS);
+	}
+
+	/**
+	 *
+	 * @param maxSpans the maximum number of spans recorded
+	 */
+	public StartupProfiler(final int maxSpans) {
+		this.maxSpans = maxSpans;
+	}
+
+	/**
+	 *
+	 * @return boolean true if a span can be recorded, i.e. if the profile is not built and the maximum number of spans is not reached
+	 */
+	private boolean isRecording() {
+		if (this.profile != null) {
+			return false;
+		}
+
+		if (this.recorded.get() >= this.maxSpans || this.recorded.incrementAndGet() > this.maxSpans) {
+			this.dropped.increment();
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 *
+	 * @param kind
+	 * @param name
+	 * @return Span to end when the step is over
+	 */
+	public Span start(final Kind kind, final String name) {
+		if (!this.isRecording()) {
+			return Span.IGNORED;
+		}
+
+		final Span parent = this.current.get();
+		final Span span = new Span(this, parent, kind, name, System.nanoTime());
+
+		if (parent != null) {
+			parent.children.add(span);
+		} else {
+			this.roots.add(span);
+		}
+
+		this.current.set(span);
+
+		return span;
+	}
+
+	/**
+	 * Records a step already measured, as a child of the current span
+	 *
+	 * @param kind
+	 * @param name
+	 * @param nanos
+	 */
+	public void record(final Kind kind, final String name, final long nanos) {
+		if (!this.isRecording()) {
+			return;
+		}
+
+		final long end = System.nanoTime();
+		final Span parent = this.current.get();
+		final Span span = new Span(this, parent, kind, name, end - nanos);
+		span.end = end;
+
+		if (parent != null) {
+			parent.children.add(span);
+		} else {
+			this.roots.add(span);
+		}
+	}
+
+	/**
+	 * Stops the recording
+	 *
+	 * @return StartupProfile the spans recorded so far
+	 */
+	public synchronized StartupProfile stop() {
+		if (this.profile == null) {
+			this.profile = new StartupProfile(this.origin, this.roots, this.dropped.intValue());
+		}
+		return this.profile;
+	}
+
+	/**
+	 * The kind of a recorded step
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	public enum Kind {
+		/** The discovery of the beans */
+		DISCOVERY,
+		/** The scan of the classpath */
+		SCAN,
+		/** The loading and indexing of the classes of a package */
+		PACKAGE,
+		/** A call to the injector */
+		INJECT,
+		/** The instantiation of a bean */
+		CREATE,
+		/** The injection of the members of a bean */
+		INIT,
+		/** The post construct method of a bean */
+		POST_CONSTRUCT,
+		/** The initialization of the singletons when the container starts */
+		WARM_UP
+	}
+
+	/**
+	 * A step being recorded
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	public static final class Span {
+
+		static final Span IGNORED = new Span(null, null, null, null, 0);
+
+		private final StartupProfiler profiler;
+
+		private final Span parent;
+
+		final Kind kind;
+
+		final String name;
+
+		final String thread;
+
+		final long start;
+
+		volatile long end;
+
+		final Queue<Span> children = new ConcurrentLinkedQueue<>();
+
+		/**
+		 *
+		 * @param profiler
+		 * @param parent
+		 * @param kind
+		 * @param name
+		 * @param start
+		 */
+		private Span(final StartupProfiler profiler, final Span parent, final Kind kind, final String name, final long start) {
+			this.profiler = profiler;
+			this.parent = parent;
+			this.kind = kind;
+			this.name = name;
+			this.thread = Thread.currentThread().getName();
+			this.start = start;
+		}
+
+		/**
+		 *
+		 */
+		public void end() {
+			if (this.profiler != null) {
+				this.end = System.nanoTime();
+				this.profiler.current.set(this.parent);
+			}
+		}
+
+	}
+
+}
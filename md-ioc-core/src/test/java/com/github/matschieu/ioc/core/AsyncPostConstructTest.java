@@ -0,0 +1,99 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.async.AsyncClient;
+import com.github.matschieu.ioc.core.beans.async.FailingAsyncBean;
+import com.github.matschieu.ioc.core.beans.async.FailingOnceSingleton;
+import com.github.matschieu.ioc.core.beans.async.SlowDependency;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class AsyncPostConstructTest {
+
+	private Injector newInjector() {
+		return Container.create(ContainerConfiguration.builder()
+				.basePackages("com.github.matschieu.ioc.core.beans.async")
+				.asyncPostConstruct(true)
+				.build()).getInjector();
+	}
+
+	@Before
+	public void init() {
+		SlowDependency.reset(2);
+	}
+
+	@Test
+	public void testInject() throws Exception {
+		final AsyncClient client = this.newInjector().inject(AsyncClient.class);
+
+		// The post construct methods of the dependencies run concurrently, before the one of the client
+		Assert.assertNotNull(client);
+		Assert.assertTrue(client.isReady());
+		Assert.assertTrue(client.isInitializedConcurrently());
+	}
+
+	@Test
+	public void testInjectAsync() throws Exception {
+		// The post construct methods of the dependencies wait for the test
+		SlowDependency.reset(3);
+
+		final CompletableFuture<AsyncClient> future = this.newInjector().injectAsync(AsyncClient.class);
+
+		Assert.assertFalse(future.isDone());
+		SlowDependency.arrive();
+		Assert.assertTrue(future.get().isReady());
+		Assert.assertTrue(future.get().isInitializedConcurrently());
+	}
+
+	@Test
+	public void testSynchronousInjectAsync() throws Exception {
+		SlowDependency.reset(1);
+
+		final Injector injector = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.async").build()).getInjector();
+		final CompletableFuture<AsyncClient> future = injector.injectAsync(AsyncClient.class);
+
+		Assert.assertTrue(future.isDone());
+		Assert.assertTrue(future.get().isReady());
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+		final CompletableFuture<FailingAsyncBean> future = this.newInjector().injectAsync(FailingAsyncBean.class);
+
+		try {
+			future.get();
+			Assert.fail();
+		} catch (final ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof InvocationException);
+		}
+	}
+
+	@Test
+	public void testFailedSingletonNotPublished() throws Exception {
+		final Injector injector = this.newInjector();
+
+		try {
+			injector.injectAsync(FailingOnceSingleton.class).get();
+			Assert.fail();
+		} catch (final ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof InvocationException);
+		}
+
+		// The singleton which failed has been dropped, a new one is created
+		final FailingOnceSingleton singleton = injector.inject(FailingOnceSingleton.class);
+		Assert.assertTrue(singleton.isReady());
+		Assert.assertSame(singleton, injector.inject(FailingOnceSingleton.class));
+		Assert.assertEquals(2, FailingOnceSingleton.ATTEMPTS.get());
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.github.matschieu.ioc.core;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.matschieu.ioc.core.beans.ChangeCaseAndReverseService;
+import com.github.matschieu.ioc.core.beans.ReverseService;
+import com.github.matschieu.ioc.core.beans.ReverseServiceImpl;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class BeanIndexReaderTest {
+
+	private static final String BEANS_PACKAGE = "com.github.matschieu.ioc.core.beans";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Creates a class loader seeing a bean index which only lists ReverseServiceImpl, the test classes having no index
+	 *
+	 * @return URLClassLoader
+	 * @throws Exception
+	 */
+	private URLClassLoader newIndexedClassLoader() throws Exception {
+		final Path index = this.folder.getRoot().toPath().resolve(BeanIndexReader.INDEX_LOCATION);
+		Files.createDirectories(index.getParent());
+		Files.writeString(index, "# md-ioc bean index\n" + ReverseServiceImpl.class.getName() + "\t" + ReverseService.class.getName() + "\n");
+
+		return new URLClassLoader(new URL[] { this.folder.getRoot().toURI().toURL() }, BeanIndexReaderTest.class.getClassLoader());
+	}
+
+	@Test
+	public void testRead() throws Exception {
+		try (URLClassLoader classLoader = this.newIndexedClassLoader()) {
+			final Set<String> indexedUrls = BeanIndexReader.read(classLoader, n -> n.startsWith(BEANS_PACKAGE), (impl, interfaceClass) -> {
+				Assert.assertEquals(ReverseServiceImpl.class, impl);
+				Assert.assertEquals(ReverseService.class, interfaceClass);
+			});
+
+			Assert.assertEquals(Set.of(this.folder.getRoot().toURI().toURL().toExternalForm()), indexedUrls);
+		}
+	}
+
+	@Test
+	public void testClassesNotIndexedScanned() throws Exception {
+		try (URLClassLoader classLoader = this.newIndexedClassLoader()) {
+			final Container container = Container.create(ContainerConfiguration.builder().classLoader(classLoader).basePackages(BEANS_PACKAGE).build());
+
+			Assert.assertEquals(1, container.getImplementations(ReverseService.class).size());
+			Assert.assertEquals(2, container.getImplementations(ChangeCaseAndReverseService.class).size());
+		}
+	}
+
+}
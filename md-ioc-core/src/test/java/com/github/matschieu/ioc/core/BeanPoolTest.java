@@ -0,0 +1,99 @@
+package com.github.matschieu.ioc.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.pooled.PooledBuffer;
+import com.github.matschieu.ioc.core.metrics.PoolStatistics;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class BeanPoolTest {
+
+	private Container container;
+
+	@Before
+	public void setUp() {
+		this.container = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.pooled").build());
+	}
+
+	@Test
+	public void testRecycling() throws Exception {
+		final int postConstructs = PooledBuffer.POST_CONSTRUCTS.get();
+		final PooledBuffer buffer = this.container.getInjector().inject(PooledBuffer.class);
+
+		Assert.assertEquals("abc", buffer.append("abc").toString());
+		Assert.assertTrue(this.container.release(buffer));
+
+		final PooledBuffer recycled = this.container.getInjector().inject(PooledBuffer.class);
+
+		Assert.assertSame(buffer, recycled);
+		Assert.assertEquals("", recycled.toString());
+		Assert.assertEquals(postConstructs + 1, PooledBuffer.POST_CONSTRUCTS.get());
+
+		final PoolStatistics statistics = this.container.getPoolStatistics(PooledBuffer.class);
+		Assert.assertEquals(1, statistics.getHits());
+		Assert.assertEquals(1, statistics.getMisses());
+		Assert.assertEquals(1, statistics.getInUse());
+		Assert.assertEquals(0, statistics.getIdle());
+	}
+
+	@Test
+	public void testFullPool() throws Exception {
+		final PooledBuffer buffer1 = this.container.getInjector().inject(PooledBuffer.class);
+		final PooledBuffer buffer2 = this.container.getInjector().inject(PooledBuffer.class);
+		final PooledBuffer buffer3 = this.container.getInjector().inject(PooledBuffer.class);
+
+		Assert.assertNotSame(buffer1, buffer2);
+		Assert.assertNotSame(buffer2, buffer3);
+
+		Assert.assertTrue(this.container.release(buffer1));
+		Assert.assertTrue(this.container.release(buffer2));
+		Assert.assertFalse(this.container.release(buffer3));
+
+		final PoolStatistics statistics = this.container.getPoolStatistics(PooledBuffer.class);
+		Assert.assertEquals(2, statistics.getMax());
+		Assert.assertEquals(2, statistics.getIdle());
+		Assert.assertEquals(3, statistics.getMisses());
+		Assert.assertEquals(1, statistics.getDiscarded());
+		Assert.assertEquals(0, statistics.getInUse());
+	}
+
+	@Test
+	public void testDoubleRelease() throws Exception {
+		final PooledBuffer buffer = this.container.getInjector().inject(PooledBuffer.class);
+
+		Assert.assertTrue(this.container.release(buffer));
+		Assert.assertFalse(this.container.release(buffer));
+
+		// The instance is handed out to one injection only
+		final PooledBuffer recycled1 = this.container.getInjector().inject(PooledBuffer.class);
+		final PooledBuffer recycled2 = this.container.getInjector().inject(PooledBuffer.class);
+		Assert.assertNotSame(recycled1, recycled2);
+
+		final PoolStatistics statistics = this.container.getPoolStatistics(PooledBuffer.class);
+		Assert.assertEquals(1, statistics.getReleases());
+		Assert.assertEquals(2, statistics.getInUse());
+	}
+
+	@Test
+	public void testForeignRelease() throws Exception {
+		final PooledBuffer foreign = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.pooled").build()).getInjector().inject(PooledBuffer.class);
+
+		Assert.assertFalse(this.container.release(foreign));
+		Assert.assertFalse(this.container.release(new PooledBuffer()));
+		Assert.assertNotSame(foreign, this.container.getInjector().inject(PooledBuffer.class));
+		Assert.assertEquals(0, this.container.getPoolStatistics(PooledBuffer.class).getIdle());
+	}
+
+	@Test
+	public void testNotPooled() throws Exception {
+		Assert.assertFalse(this.container.release(new Object()));
+		Assert.assertNull(this.container.getPoolStatistics(Object.class));
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.BlockingSingletonBean;
+import com.github.matschieu.ioc.core.beans.ChangeCaseAndReverseService;
+import com.github.matschieu.ioc.core.beans.ConcurrentCyclicSingletonBean1;
+import com.github.matschieu.ioc.core.beans.ConcurrentCyclicSingletonBean2;
+import com.github.matschieu.ioc.core.beans.SingletonBean;
+import com.github.matschieu.ioc.core.beans.SlowSingletonBean;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ContainerConcurrencyTest {
+
+	private static final int THREADS = 32;
+
+	private Injector injector;
+
+	private ExecutorService executor;
+
+	@Before
+	public void init() {
+		this.injector = Container.get().getInjector();
+		this.executor = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Injects a bean from all the threads at the same time
+	 *
+	 * @param <T>
+	 * @param clazz
+	 * @return List<T>
+	 * @throws Exception
+	 */
+	private <T> List<T> injectConcurrently(final Class<T> clazz) throws Exception {
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<T>> futures = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			futures.add(this.executor.submit(() -> {
+				start.await();
+				return this.injector.inject(clazz);
+			}));
+		}
+
+		start.countDown();
+
+		final List<T> instances = new ArrayList<>();
+		for (final Future<T> future : futures) {
+			instances.add(future.get(10, TimeUnit.SECONDS));
+		}
+		return instances;
+	}
+
+	@Test
+	public void testConcurrentContainerAccess() throws Exception {
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<Container>> futures = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			futures.add(this.executor.submit(() -> {
+				start.await();
+				return Container.get();
+			}));
+		}
+
+		start.countDown();
+
+		for (final Future<Container> future : futures) {
+			Assert.assertSame(Container.get(), future.get(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void testConcurrentSingletonInjection() throws Exception {
+		final List<SlowSingletonBean> instances = this.injectConcurrently(SlowSingletonBean.class);
+		final Set<SlowSingletonBean> distinctInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+		distinctInstances.addAll(instances);
+
+		Assert.assertEquals(THREADS, instances.size());
+		Assert.assertEquals(1, distinctInstances.size());
+		Assert.assertNotNull(instances.get(0));
+		Assert.assertEquals(1, SlowSingletonBean.INSTANCES.get());
+	}
+
+	@Test
+	public void testConcurrentDependentInjection() throws Exception {
+		final List<ChangeCaseAndReverseService> instances = this.injectConcurrently(ChangeCaseAndReverseService.class);
+		final Set<ChangeCaseAndReverseService> distinctInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+		distinctInstances.addAll(instances);
+
+		Assert.assertEquals(THREADS, distinctInstances.size());
+		for (final ChangeCaseAndReverseService instance : instances) {
+			Assert.assertEquals("TSET", instance.changeCaseAndReverse("test"));
+		}
+	}
+
+	@Test
+	public void testSlowSingletonDoesNotBlockOtherSingletons() throws Exception {
+		final Callable<BlockingSingletonBean> blocking = () -> this.injector.inject(BlockingSingletonBean.class);
+		final Future<BlockingSingletonBean> future = this.executor.submit(blocking);
+
+		try {
+			Assert.assertTrue(BlockingSingletonBean.STARTED.await(10, TimeUnit.SECONDS));
+			Assert.assertNotNull(this.executor.submit(() -> this.injector.inject(SingletonBean.class)).get(5, TimeUnit.SECONDS));
+			Assert.assertFalse(future.isDone());
+		} finally {
+			BlockingSingletonBean.RELEASED.countDown();
+		}
+
+		Assert.assertNotNull(future.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testConcurrentCyclicSingletonInjection() throws Exception {
+		final Future<ConcurrentCyclicSingletonBean1> future1 = this.executor.submit(() -> this.injector.inject(ConcurrentCyclicSingletonBean1.class));
+		final Future<ConcurrentCyclicSingletonBean2> future2 = this.executor.submit(() -> this.injector.inject(ConcurrentCyclicSingletonBean2.class));
+
+		final ConcurrentCyclicSingletonBean1 bean1 = future1.get(10, TimeUnit.SECONDS);
+		final ConcurrentCyclicSingletonBean2 bean2 = future2.get(10, TimeUnit.SECONDS);
+
+		Assert.assertSame(bean2, bean1.getOther());
+		Assert.assertSame(bean1, bean2.getOther());
+	}
+
+}
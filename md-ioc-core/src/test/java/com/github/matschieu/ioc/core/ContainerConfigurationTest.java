@@ -0,0 +1,68 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.ChangeCaseAndReverseService;
+import com.github.matschieu.ioc.core.beans.ChangeCaseLowerAndReverseService;
+import com.github.matschieu.ioc.core.beans.ChangeCaseUpperAndReverseService;
+import com.github.matschieu.ioc.core.beans.QualifiedBean;
+import com.github.matschieu.ioc.core.beans.ReverseService;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ContainerConfigurationTest {
+
+	@Test
+	public void testDefaultConfiguration() {
+		final ContainerConfiguration configuration = ContainerConfiguration.builder().build();
+
+		Assert.assertTrue(configuration.getBasePackages().isEmpty());
+		Assert.assertTrue(configuration.isIncluded("com.github.matschieu.ioc.core.beans"));
+		Assert.assertFalse(configuration.isIncluded("java.lang"));
+		Assert.assertFalse(configuration.isIncluded("javax.inject.Named"));
+		Assert.assertTrue(configuration.isIncluded("javaxyz"));
+	}
+
+	@Test
+	public void testIncludesAndExcludes() {
+		final ContainerConfiguration configuration = ContainerConfiguration.builder()
+				.include("com.github.matschieu")
+				.exclude("com.github.matschieu.ioc.core.qualifiers", ChangeCaseLowerAndReverseService.class.getName())
+				.build();
+
+		Assert.assertTrue(configuration.isIncluded("com.github.matschieu.ioc.core.beans"));
+		Assert.assertTrue(configuration.isIncluded(ChangeCaseUpperAndReverseService.class.getName()));
+		Assert.assertFalse(configuration.isIncluded(ChangeCaseLowerAndReverseService.class.getName()));
+		Assert.assertFalse(configuration.isIncluded("com.github.matschieu.ioc.core.qualifiers.BeanQualifier"));
+		Assert.assertFalse(configuration.isIncluded("org.junit"));
+	}
+
+	@Test
+	public void testBasePackages() throws Exception {
+		final Container container = Container.create(ContainerConfiguration.builder()
+				.basePackages("com.github.matschieu.ioc.core.beans")
+				.exclude(ChangeCaseLowerAndReverseService.class.getName())
+				.build());
+
+		Assert.assertEquals(List.of(ChangeCaseUpperAndReverseService.class), container.getImplementations(ChangeCaseAndReverseService.class));
+		Assert.assertEquals(1, container.getImplementations(ReverseService.class).size());
+		Assert.assertEquals("TSET", container.getInjector().inject(ChangeCaseAndReverseService.class).changeCaseAndReverse("test"));
+	}
+
+	@Test
+	public void testExcludedBasePackage() {
+		final Container container = Container.create(ContainerConfiguration.builder()
+				.basePackages("com.github.matschieu.ioc.core")
+				.exclude("com.github.matschieu.ioc.core.beans")
+				.build());
+
+		Assert.assertTrue(container.getImplementations(QualifiedBean.class).isEmpty());
+	}
+
+}
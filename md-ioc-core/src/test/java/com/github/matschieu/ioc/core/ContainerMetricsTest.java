@@ -0,0 +1,104 @@
+package com.github.matschieu.ioc.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.ChangeCaseAndReverseService;
+import com.github.matschieu.ioc.core.beans.ReverseService;
+import com.github.matschieu.ioc.core.beans.SingletonBean;
+import com.github.matschieu.ioc.core.metrics.ContainerMetrics;
+import com.github.matschieu.ioc.core.metrics.InMemoryMetricsRecorder;
+import com.github.matschieu.ioc.core.metrics.LatencyHistogram;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ContainerMetricsTest {
+
+	/**
+	 *
+	 * @return Container
+	 */
+	private Container createContainer() {
+		return Container.create(ContainerConfiguration.builder()
+				.basePackages("com.github.matschieu.ioc.core.beans")
+				.metricsRecorder(new InMemoryMetricsRecorder())
+				.build());
+	}
+
+	@Test
+	public void testNoMetrics() {
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans").build());
+
+		Assert.assertFalse(container.getConfiguration().getMetricsRecorder().isEnabled());
+		Assert.assertNull(container.getMetrics());
+	}
+
+	@Test
+	public void testDiscoveryMetrics() {
+		final Container container = this.createContainer();
+		final ContainerMetrics metrics = container.getMetrics();
+
+		Assert.assertEquals(1, metrics.getDiscoveryTime().getCount());
+		Assert.assertTrue(metrics.getDiscoveryTime().getMax() > 0);
+		Assert.assertEquals(container.getApplicationScope().size(), metrics.getDiscoveredInterfaces());
+	}
+
+	@Test
+	public void testResolutionMetrics() throws Exception {
+		final Container container = this.createContainer();
+		final ContainerMetrics metrics = container.getMetrics();
+		// The singletons created when the container starts are not counted
+		final long instantiations = metrics.getInstantiationTime().getCount();
+		final long postConstructs = metrics.getPostConstructTime().getCount();
+
+		container.getInjector().inject(ChangeCaseAndReverseService.class);
+		container.getInjector().inject(ChangeCaseAndReverseService.class);
+
+		Assert.assertEquals(2, metrics.getResolutionCount(ChangeCaseAndReverseService.class));
+		Assert.assertEquals(2, metrics.getResolutionCount(ReverseService.class));
+		Assert.assertEquals(2, metrics.getResolutionCacheMisses());
+		Assert.assertEquals(2, metrics.getResolutionCacheHits());
+		Assert.assertEquals(0.5, metrics.getResolutionCacheHitRate(), 0);
+		Assert.assertEquals(instantiations + 4, metrics.getInstantiationTime().getCount());
+		Assert.assertEquals(postConstructs + 4, metrics.getPostConstructTime().getCount());
+	}
+
+	@Test
+	public void testSingletonMetrics() throws Exception {
+		final Container container = this.createContainer();
+		final ContainerMetrics metrics = container.getMetrics();
+		// The singletons created when the container starts are not counted
+		final long creations = metrics.getSingletonCreations();
+		final long hits = metrics.getSingletonHits();
+		final long instantiations = metrics.getInstantiationTime().getCount();
+
+		Assert.assertSame(container.getObjectInstance(SingletonBean.class), container.getObjectInstance(SingletonBean.class));
+
+		Assert.assertEquals(creations + 1, metrics.getSingletonCreations());
+		Assert.assertEquals(hits + 1, metrics.getSingletonHits());
+		Assert.assertEquals(instantiations, metrics.getInstantiationTime().getCount());
+	}
+
+	@Test
+	public void testLatencyHistogram() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+
+		for (final long value : new long[] { 0, 1, 2, 3, 100, 1000 }) {
+			histogram.record(value);
+		}
+
+		final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+		Assert.assertEquals(6, snapshot.getCount());
+		Assert.assertEquals(1106, snapshot.getTotal());
+		Assert.assertEquals(1000, snapshot.getMax());
+		Assert.assertEquals(3, snapshot.getPercentile(50));
+		Assert.assertEquals(127, snapshot.getPercentile(80));
+		Assert.assertEquals(1000, snapshot.getPercentile(100));
+		Assert.assertEquals(0, new LatencyHistogram().snapshot().getPercentile(99));
+	}
+
+}
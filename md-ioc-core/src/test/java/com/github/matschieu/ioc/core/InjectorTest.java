@@ -14,6 +14,13 @@ import com.github.matschieu.ioc.core.beans.BadPostConstruct2;
 import com.github.matschieu.ioc.core.beans.ChangeCaseAndReverseService;
 import com.github.matschieu.ioc.core.beans.ChangeCaseLowerAndReverseService;
 import com.github.matschieu.ioc.core.beans.ChangeCaseUpperAndReverseService;
+import com.github.matschieu.ioc.core.beans.ConstructorBean;
+import com.github.matschieu.ioc.core.beans.ConstructorCyclicBean1;
+import com.github.matschieu.ioc.core.beans.CountingSingletonBean;
+import com.github.matschieu.ioc.core.beans.CyclicBean2;
+import com.github.matschieu.ioc.core.beans.CyclicSingletonBean1;
+import com.github.matschieu.ioc.core.beans.CyclicSingletonBean2;
+import com.github.matschieu.ioc.core.beans.LazyBean;
 import com.github.matschieu.ioc.core.beans.LonelyInterface;
 import com.github.matschieu.ioc.core.beans.MultiDefault;
 import com.github.matschieu.ioc.core.beans.MultiNamedBean;
@@ -21,10 +28,14 @@ import com.github.matschieu.ioc.core.beans.MultiPostConstruct;
 import com.github.matschieu.ioc.core.beans.MultiQualifiedBean;
 import com.github.matschieu.ioc.core.beans.NamedAndQualifiedBean;
 import com.github.matschieu.ioc.core.beans.NamedAndQualifiedBeanImpl1;
+import com.github.matschieu.ioc.core.beans.ProviderClientBean;
 import com.github.matschieu.ioc.core.beans.QualifiedBean;
 import com.github.matschieu.ioc.core.beans.QualifiedBeanImpl;
+import com.github.matschieu.ioc.core.beans.ReverseService;
 import com.github.matschieu.ioc.core.beans.SingletonBean;
 import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+import com.github.matschieu.ioc.core.exceptions.ProvisionException;
 import com.github.matschieu.ioc.core.qualifiers.BeanQualifier;
 import com.github.matschieu.ioc.core.qualifiers.MultiQualifier;
 
@@ -99,6 +110,77 @@ public class InjectorTest {
 		Assert.assertTrue(singleton1 == singleton2);
 	}
 
+	@Test
+	public void testSingletonInitializedOnce() throws Exception {
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans").build());
+		final int postConstructs = CountingSingletonBean.POST_CONSTRUCTS.get();
+		final CountingSingletonBean singleton = container.getInjector().inject(CountingSingletonBean.class);
+		final ReverseService reverseService = singleton.getReverseService();
+
+		Assert.assertNotNull(reverseService);
+		Assert.assertSame(singleton, container.getInjector().inject(CountingSingletonBean.class));
+		Assert.assertSame(singleton, container.getObjectInstance(CountingSingletonBean.class));
+		Assert.assertSame(reverseService, singleton.getReverseService());
+		Assert.assertEquals(postConstructs + 1, CountingSingletonBean.POST_CONSTRUCTS.get());
+	}
+
+	@Test
+	public void testSingletonCycle() throws Exception {
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans").build());
+		final CyclicSingletonBean1 singleton1 = container.getInjector().inject(CyclicSingletonBean1.class);
+
+		Assert.assertNotNull(singleton1.getOther());
+		Assert.assertSame(singleton1, singleton1.getOther().getOther());
+		Assert.assertSame(singleton1.getOther(), container.getInjector().inject(CyclicSingletonBean2.class));
+	}
+
+	@Test
+	public void testProviderInjection() throws Exception {
+		final int instances = LazyBean.INSTANCES.get();
+		final ProviderClientBean client = this.injector.inject(ProviderClientBean.class);
+
+		Assert.assertEquals(instances, LazyBean.INSTANCES.get());
+
+		final LazyBean lazyBean1 = client.getLazyBean().get();
+		final LazyBean lazyBean2 = client.getLazyBean().get();
+
+		Assert.assertEquals(instances + 2, LazyBean.INSTANCES.get());
+		Assert.assertNotSame(lazyBean1, lazyBean2);
+		Assert.assertNotNull(lazyBean1.getReverseService());
+		Assert.assertEquals("tset", client.getLowerService().get().changeCaseAndReverse("TEST"));
+		Assert.assertSame(client.getLazyBean(), this.injector.inject(ProviderClientBean.class).getLazyBean());
+	}
+
+	@Test
+	public void testProviderBreaksCycle() throws Exception {
+		final CyclicBean2 bean = this.injector.inject(CyclicBean2.class);
+
+		Assert.assertNotNull(bean.getOther());
+		Assert.assertNotSame(bean, bean.getOther().getOther().get());
+		Assert.assertNotNull(bean.getOther().getOther().get().getOther());
+	}
+
+	@Test
+	public void testConstructorInjection() throws Exception {
+		final ConstructorBean bean = this.injector.inject(ConstructorBean.class);
+
+		Assert.assertNotNull(bean.getReverseService());
+		Assert.assertEquals("tset", bean.getReverseService().reverse("test"));
+		Assert.assertTrue(bean.getLowerService() instanceof ChangeCaseLowerAndReverseService);
+		Assert.assertNotNull(bean.getLazyBean().get());
+		Assert.assertSame(this.singleton1, bean.getSingleton());
+	}
+
+	@Test(expected = InvocationException.class)
+	public void testConstructorCycle() throws Exception {
+		this.injector.inject(ConstructorCyclicBean1.class);
+	}
+
+	@Test(expected = ProvisionException.class)
+	public void testProviderError() {
+		this.injector.getProvider(MultiDefault.class).get();
+	}
+
 	@Test
 	public void testInjectionUsingAnnotation() {
 		Assert.assertNotNull(this.bean1);
@@ -196,6 +278,22 @@ public class InjectorTest {
 		this.injector.inject(MultiDefault.class);
 	}
 
+	@Test
+	public void testCachedResolution() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			Assert.assertNull(this.injector.inject(LonelyInterface.class));
+			Assert.assertTrue(this.injector.inject(QualifiedBean.class, () -> BeanQualifier.class) instanceof QualifiedBeanImpl);
+			Assert.assertNull(this.injector.inject(QualifiedBean.class, () -> MultiQualifier.class));
+
+			try {
+				this.injector.inject(MultiDefault.class);
+				Assert.fail();
+			} catch (final IllegalArgumentException e) {
+				Assert.assertTrue(e.getMessage().startsWith("Ambiguous dependencies"));
+			}
+		}
+	}
+
 	@Test
 	public void testBadPostConstruct() throws Exception {
 		final BadPostConstruct1 instance1 = this.injector.inject(BadPostConstruct1.class);
@@ -0,0 +1,65 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.inject.Default;
+import javax.inject.Named;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.MultiNamedBeanImpl1;
+import com.github.matschieu.ioc.core.beans.qualified.Format;
+import com.github.matschieu.ioc.core.beans.qualified.JsonSerializer;
+import com.github.matschieu.ioc.core.beans.qualified.Serializer;
+import com.github.matschieu.ioc.core.beans.qualified.SerializerClient;
+import com.github.matschieu.ioc.core.beans.qualified.XmlSerializer;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class QualifierKeyTest {
+
+	@Test
+	public void testCanonicalization() {
+		final Named named = MultiNamedBeanImpl1.class.getAnnotation(Named.class);
+
+		Assert.assertEquals(QualifierKey.ofBean(MultiNamedBeanImpl1.class), QualifierKey.of(named));
+		Assert.assertSame(QualifierKey.NONE, QualifierKey.of());
+		Assert.assertEquals(QualifierKey.of(JsonSerializer.class.getAnnotation(Format.class), named), QualifierKey.of(named, JsonSerializer.class.getAnnotation(Format.class)));
+		Assert.assertNotEquals(QualifierKey.ofBean(JsonSerializer.class), QualifierKey.ofBean(XmlSerializer.class));
+
+		// A qualifier without member is not canonicalized, its key is computed once
+		Assert.assertEquals(QualifierKey.DEFAULT, QualifierKey.of(Default.Literal.INSTANCE));
+		Assert.assertSame(QualifierKey.of(Default.Literal.INSTANCE), QualifierKey.of(Default.Literal.INSTANCE));
+	}
+
+	@Test
+	public void testMemberValues() throws Exception {
+		final Injector injector = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.qualified").build()).getInjector();
+
+		Assert.assertEquals("JSON", injector.inject(Serializer.class, JsonSerializer.class.getAnnotation(Format.class)).getFormat());
+		Assert.assertEquals("XML", injector.inject(Serializer.class, XmlSerializer.class.getAnnotation(Format.class)).getFormat());
+
+		// The @Nonbinding member of the injection point is ignored
+		Assert.assertEquals("XML", injector.inject(SerializerClient.class).getSerializer().getFormat());
+	}
+
+	@Test
+	public void testInvalidQualifier() throws Exception {
+		final Injector injector = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.qualified").build()).getInjector();
+		// Not an instance of the annotation type, its members cannot be read
+		final Annotation format = () -> Format.class;
+
+		try {
+			injector.inject(Serializer.class, format);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertTrue(e.getCause() instanceof java.lang.IllegalArgumentException);
+		}
+	}
+
+}
@@ -0,0 +1,134 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.scopes.RequestHandler;
+import com.github.matschieu.ioc.core.beans.scopes.RequestHelper;
+import com.github.matschieu.ioc.core.beans.scopes.SingletonRequestClient;
+import com.github.matschieu.ioc.core.beans.scopes.SingletonRequestHandler;
+import com.github.matschieu.ioc.core.beans.scopes.ThreadHelper;
+import com.github.matschieu.ioc.core.exceptions.DefinitionException;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ScopeContextTest {
+
+	private static <T> T callOnAnotherThread(final Callable<T> task) throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			return executor.submit(task).get();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private Container newContainer() {
+		return Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.scopes").build());
+	}
+
+	@Test(expected = InvocationException.class)
+	public void testNoActiveRequest() throws Exception {
+		this.newContainer().getObjectInstance(RequestHelper.class);
+	}
+
+	@Test
+	public void testRequestScope() throws Exception {
+		final Container container = this.newContainer();
+		final RequestHelper helper;
+
+		try (ScopeContext context = container.beginRequest()) {
+			Assert.assertSame(context, container.getRequestContext());
+
+			final RequestHandler handler1 = container.getInjector().inject(RequestHandler.class);
+			final RequestHandler handler2 = container.getInjector().inject(RequestHandler.class);
+
+			Assert.assertNotSame(handler1, handler2);
+			Assert.assertNotNull(handler1.getRequestHelper());
+			Assert.assertSame(handler1.getRequestHelper(), handler2.getRequestHelper());
+			Assert.assertEquals(1, context.size());
+			helper = handler1.getRequestHelper();
+		}
+
+		Assert.assertNull(container.getRequestContext());
+
+		try (ScopeContext context = container.beginRequest()) {
+			Assert.assertNotSame(helper, container.getInjector().inject(RequestHelper.class));
+		}
+	}
+
+	@Test
+	public void testRequestHandOver() throws Exception {
+		final Container container = this.newContainer();
+		final ScopeContext context = container.beginRequest();
+		final RequestHelper helper = container.getObjectInstance(RequestHelper.class);
+		context.deactivate();
+
+		Assert.assertNull(container.getRequestContext());
+
+		final RequestHelper other = ScopeContextTest.callOnAnotherThread(() -> {
+			context.activate();
+			try {
+				return container.getInjector().inject(RequestHelper.class);
+			} finally {
+				context.end();
+			}
+		});
+
+		Assert.assertSame(helper, other);
+		Assert.assertTrue(context.isEnded());
+		Assert.assertEquals(0, context.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testNestedRequest() {
+		final Container container = this.newContainer();
+
+		try (ScopeContext context = container.beginRequest()) {
+			container.beginRequest();
+		}
+	}
+
+	@Test
+	public void testThreadScope() throws Exception {
+		final Container container = this.newContainer();
+		final ThreadHelper helper = container.getInjector().inject(ThreadHelper.class);
+
+		Assert.assertNotNull(helper);
+		Assert.assertSame(helper, container.getInjector().inject(ThreadHelper.class));
+		Assert.assertNotSame(helper, ScopeContextTest.callOnAnotherThread(() -> container.getInjector().inject(ThreadHelper.class)));
+
+		container.endThreadScope();
+
+		Assert.assertNotSame(helper, container.getInjector().inject(ThreadHelper.class));
+	}
+
+	@Test
+	public void testScopedBeanInSingleton() throws Exception {
+		final Container container = this.newContainer();
+
+		try (ScopeContext context = container.beginRequest()) {
+			container.getInjector().inject(SingletonRequestHandler.class);
+			Assert.fail();
+		} catch (final InvocationException e) {
+			Assert.assertTrue(e.getCause() instanceof DefinitionException);
+		}
+
+		// A provider looks up the bean in the active context
+		final SingletonRequestClient client = container.getInjector().inject(SingletonRequestClient.class);
+
+		try (ScopeContext context = container.beginRequest()) {
+			Assert.assertSame(container.getInjector().inject(RequestHelper.class), client.getRequestHelper());
+		}
+	}
+
+}
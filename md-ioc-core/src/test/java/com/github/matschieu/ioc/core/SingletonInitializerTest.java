@@ -0,0 +1,103 @@
+package com.github.matschieu.ioc.core;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Named;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.bootstrap.ContainerClient;
+import com.github.matschieu.ioc.core.beans.eager.StartupService;
+import com.github.matschieu.ioc.core.beans.eager.StartupServiceImpl;
+import com.github.matschieu.ioc.core.beans.failing.FailingServiceClient;
+import com.github.matschieu.ioc.core.beans.startup.WarmUp;
+import com.github.matschieu.ioc.core.beans.startup.WarmUpAggregator;
+import com.github.matschieu.ioc.core.exceptions.InvocationException;
+import com.github.matschieu.ioc.core.metrics.InMemoryMetricsRecorder;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class SingletonInitializerTest {
+
+	@Test
+	public void testParallelInitialization() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			final long start = System.nanoTime();
+			final Container container = Container.create(ContainerConfiguration.builder()
+					.basePackages("com.github.matschieu.ioc.core.beans.startup")
+					.eagerSingletons(true)
+					.initializationExecutor(executor)
+					.build());
+			final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+			// The three slow singletons are initialized concurrently, before the singleton depending on them
+			Assert.assertTrue(elapsedMillis < 3 * WarmUp.DELAY);
+			Assert.assertTrue(container.getInjector().inject(WarmUp.class, WarmUpAggregator.class.getAnnotation(Named.class)).isWarm());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testStartupAnnotation() throws Exception {
+		final int instances = StartupServiceImpl.INSTANCES.get();
+		final Container container = Container.create(ContainerConfiguration.builder()
+				.basePackages("com.github.matschieu.ioc.core.beans.eager")
+				.metricsRecorder(new InMemoryMetricsRecorder())
+				.build());
+
+		Assert.assertEquals(instances + 1, StartupServiceImpl.INSTANCES.get());
+		Assert.assertEquals(1, container.getMetrics().getWarmedUpSingletons());
+		Assert.assertEquals(1, container.getMetrics().getWarmUpTime().getCount());
+		Assert.assertEquals(1, container.getMetrics().getSingletonCreations());
+
+		container.getInjector().inject(StartupService.class);
+		Assert.assertEquals(instances + 1, StartupServiceImpl.INSTANCES.get());
+	}
+
+	@Test
+	public void testFailure() {
+		try {
+			Container.create(ContainerConfiguration.builder()
+					.basePackages("com.github.matschieu.ioc.core.beans.failing")
+					.eagerSingletons(true)
+					.build());
+			Assert.fail();
+		} catch (final IllegalStateException e) {
+			Assert.assertTrue(e.getCause() instanceof InvocationException);
+			Assert.assertEquals(1, e.getCause().getSuppressed().length);
+			Assert.assertEquals(0, FailingServiceClient.INSTANCES.get());
+		}
+	}
+
+	@Test
+	public void testStartupSingletonGetsContainer() throws Exception {
+		final Field instanceField = Container.class.getDeclaredField("INSTANCE");
+		instanceField.setAccessible(true);
+		final Object previous = instanceField.get(null);
+		instanceField.set(null, null);
+		System.setProperty(ContainerConfiguration.BASE_PACKAGES_PROPERTY, "com.github.matschieu.ioc.core.beans.bootstrap");
+
+		try {
+			// The singleton gets the container from a thread of the initialization executor while the container starts
+			final Container container = CompletableFuture.supplyAsync(Container::get).get(10, TimeUnit.SECONDS);
+
+			Assert.assertSame(container, Container.get());
+			Assert.assertSame(container, container.getInjector().inject(ContainerClient.class).getContainer());
+		} finally {
+			System.clearProperty(ContainerConfiguration.BASE_PACKAGES_PROPERTY);
+			instanceField.set(null, previous);
+		}
+	}
+
+}
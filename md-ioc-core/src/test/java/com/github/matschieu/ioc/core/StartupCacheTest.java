@@ -0,0 +1,123 @@
+package com.github.matschieu.ioc.core;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Named;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.matschieu.ioc.core.beans.ChangeCaseAndReverseService;
+import com.github.matschieu.ioc.core.beans.ChangeCaseLowerAndReverseService;
+import com.github.matschieu.ioc.core.beans.ChangeCaseUpperAndReverseService;
+import com.github.matschieu.ioc.core.beans.MultiDefault;
+import com.github.matschieu.ioc.core.exceptions.IllegalArgumentException;
+import com.github.matschieu.ioc.core.profiling.StartupProfile.Node;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Kind;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class StartupCacheTest {
+
+	private static final String BEANS_PACKAGE = "com.github.matschieu.ioc.core.beans";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 *
+	 * @param container a container profiling its startup
+	 * @return List<String> the names of the scans done to discover the beans: the scanned packages, the bean index or the startup cache
+	 */
+	private static List<String> getScans(final Container container) {
+		return container.getStartupProfile().getRoots().get(0).getChildren().stream().filter(n -> n.getKind() == Kind.SCAN).map(Node::getName).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testCacheReused() throws Exception {
+		final Path file = this.folder.getRoot().toPath().resolve("beans.cache");
+		final ContainerConfiguration configuration = ContainerConfiguration.builder().basePackages(BEANS_PACKAGE).startupCache(file).profileStartup(true).build();
+
+		final Container container = Container.create(configuration);
+		Assert.assertTrue(Files.exists(file));
+		Assert.assertFalse(StartupCacheTest.getScans(container).contains(file.toString()));
+		final FileTime lastModified = Files.getLastModifiedTime(file);
+
+		// The beans are loaded from the cache, which is not rewritten
+		final Container cachedContainer = Container.create(configuration);
+		Assert.assertEquals(List.of(file.toString()), StartupCacheTest.getScans(cachedContainer));
+		Assert.assertEquals(lastModified, Files.getLastModifiedTime(file));
+		Assert.assertEquals(container.getApplicationScope(), cachedContainer.getApplicationScope());
+
+		final Named named = ChangeCaseLowerAndReverseService.class.getAnnotation(Named.class);
+		Assert.assertEquals("TSET", cachedContainer.getInjector().inject(ChangeCaseAndReverseService.class).changeCaseAndReverse("test"));
+		Assert.assertEquals("tset", cachedContainer.getInjector().inject(ChangeCaseAndReverseService.class, named).changeCaseAndReverse("TEST"));
+
+		try {
+			cachedContainer.getInjector().inject(MultiDefault.class);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().startsWith("Ambiguous dependencies"));
+		}
+	}
+
+	@Test
+	public void testCacheRebuiltWhenConfigurationChanges() throws Exception {
+		final Path file = this.folder.getRoot().toPath().resolve("beans.cache");
+
+		Container.create(ContainerConfiguration.builder().basePackages(BEANS_PACKAGE).startupCache(file).build());
+		final byte[] content = Files.readAllBytes(file);
+
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages(BEANS_PACKAGE).exclude(ChangeCaseLowerAndReverseService.class.getName()).startupCache(file).build());
+
+		Assert.assertFalse(Arrays.equals(content, Files.readAllBytes(file)));
+		Assert.assertEquals(List.of(ChangeCaseUpperAndReverseService.class), container.getImplementations(ChangeCaseAndReverseService.class));
+	}
+
+	@Test
+	public void testInvalidCacheRebuilt() throws Exception {
+		final Path file = this.folder.getRoot().toPath().resolve("beans.cache");
+		Files.write(file, new byte[] { 1, 2, 3 });
+
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages(BEANS_PACKAGE).startupCache(file).build());
+
+		Assert.assertEquals(2, container.getImplementations(ChangeCaseAndReverseService.class).size());
+		Assert.assertNotNull(StartupCache.read(file, StartupCache.fingerprint(container.getClass().getClassLoader(), container.getConfiguration()), container.getClass().getClassLoader()));
+	}
+
+	@Test
+	public void testFingerprintOfRootsAndIndexes() throws Exception {
+		final Path root = this.folder.newFolder("classes").toPath();
+		final Path index = root.resolve(BeanIndexReader.INDEX_LOCATION);
+		Files.createDirectories(index.getParent());
+		Files.writeString(index, "a");
+		final Path classFile = Files.createDirectories(root.resolve("a")).resolve("A.class");
+		final ContainerConfiguration configuration = ContainerConfiguration.builder().basePackages(BEANS_PACKAGE).build();
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toUri().toURL() }, null)) {
+			final byte[] fingerprint = StartupCache.fingerprint(classLoader, configuration);
+			Assert.assertNotNull(fingerprint);
+
+			// The files of the directories are not fingerprinted
+			Files.writeString(classFile, "A");
+			Assert.assertArrayEquals(fingerprint, StartupCache.fingerprint(classLoader, configuration));
+
+			// The bean indexes are
+			Files.writeString(index, "ab");
+			Assert.assertFalse(Arrays.equals(fingerprint, StartupCache.fingerprint(classLoader, configuration)));
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.github.matschieu.ioc.core;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.beans.ChangeCaseAndReverseService;
+import com.github.matschieu.ioc.core.beans.ChangeCaseUpperAndReverseService;
+import com.github.matschieu.ioc.core.beans.ReverseServiceImpl;
+import com.github.matschieu.ioc.core.profiling.StartupProfile;
+import com.github.matschieu.ioc.core.profiling.StartupProfile.Node;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler;
+import com.github.matschieu.ioc.core.profiling.StartupProfiler.Kind;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class StartupProfilerTest {
+
+	/**
+	 *
+	 * @param nodes
+	 * @return List<String>
+	 */
+	private static List<String> describe(final List<Node> nodes) {
+		return nodes.stream().map(n -> n.getKind() + " " + n.getName()).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testNoProfiling() {
+		Assert.assertNull(Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans").build()).getStartupProfile());
+	}
+
+	@Test
+	public void testProfile() throws Exception {
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans").profileStartup(true).build());
+
+		container.getInjector().inject(ChangeCaseAndReverseService.class);
+
+		final StartupProfile profile = container.getStartupProfile();
+
+		// The discovery is followed by the start of the singletons to create when the container starts, then by the injection
+		final int rootCount = profile.getRoots().size();
+		Assert.assertEquals(Kind.DISCOVERY, profile.getRoots().get(0).getKind());
+
+		final Node discovery = profile.getRoots().get(0);
+		Assert.assertEquals(Kind.SCAN, discovery.getChildren().get(0).getKind());
+		Assert.assertTrue(describe(discovery.getChildren()).contains(Kind.PACKAGE + " com.github.matschieu.ioc.core.beans"));
+
+		final Node inject = profile.getRoots().get(rootCount - 1);
+		Assert.assertEquals(Kind.INJECT, inject.getKind());
+		Assert.assertEquals(ChangeCaseAndReverseService.class.getName(), inject.getName());
+		Assert.assertEquals(List.of(Kind.CREATE + " " + ChangeCaseUpperAndReverseService.class.getName(), Kind.INIT + " " + ChangeCaseUpperAndReverseService.class.getName()),
+				describe(inject.getChildren()));
+
+		final Node init = inject.getChildren().get(1);
+		Assert.assertEquals(List.of(Kind.CREATE + " " + ReverseServiceImpl.class.getName(), Kind.INIT + " " + ReverseServiceImpl.class.getName(), Kind.POST_CONSTRUCT + " " + ChangeCaseUpperAndReverseService.class.getName()),
+				describe(init.getChildren()));
+		Assert.assertEquals(List.of(Kind.POST_CONSTRUCT + " " + ReverseServiceImpl.class.getName()), describe(init.getChildren().get(1).getChildren()));
+
+		for (final Node node : profile.getNodes()) {
+			Assert.assertTrue(node.getDuration() >= node.getChildren().stream().mapToLong(Node::getDuration).sum());
+		}
+
+		final List<Node> criticalPath = profile.getCriticalPath();
+		Assert.assertFalse(criticalPath.isEmpty());
+		Assert.assertTrue(profile.getRoots().contains(criticalPath.get(0)));
+		Assert.assertTrue(criticalPath.get(criticalPath.size() - 1).getChildren().isEmpty());
+
+		// The profiling is stopped once the profile is built
+		container.getInjector().inject(ChangeCaseAndReverseService.class);
+		Assert.assertSame(profile, container.getStartupProfile());
+		Assert.assertEquals(rootCount, profile.getRoots().size());
+	}
+
+	@Test
+	public void testExport() throws Exception {
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans").profileStartup(true).build());
+
+		container.getInjector().inject(ChangeCaseAndReverseService.class);
+
+		final StartupProfile profile = container.getStartupProfile();
+		final String dot = profile.toDot();
+		final String json = profile.toJson();
+
+		Assert.assertTrue(dot.startsWith("digraph startup {"));
+		Assert.assertTrue(dot.contains("INIT " + ChangeCaseUpperAndReverseService.class.getName()));
+		Assert.assertTrue(dot.contains("color=red"));
+		Assert.assertEquals(profile.getNodes().size() - profile.getRoots().size(), dot.split("->", -1).length - 1);
+
+		Assert.assertTrue(json.contains("\"criticalPath\": [" + profile.getCriticalPath().get(0).getId()));
+		Assert.assertTrue(json.contains("\"kind\": \"POST_CONSTRUCT\", \"name\": \"" + ReverseServiceImpl.class.getName() + "\""));
+	}
+
+	@Test
+	public void testMaxSpans() {
+		final StartupProfiler profiler = new StartupProfiler(2);
+
+		for (int i = 0; i < 3; i++) {
+			profiler.start(Kind.INJECT, "bean" + i).end();
+		}
+		profiler.record(Kind.SCAN, "scan", 0);
+
+		final StartupProfile profile = profiler.stop();
+		Assert.assertEquals(List.of(Kind.INJECT + " bean0", Kind.INJECT + " bean1"), describe(profile.getRoots()));
+		Assert.assertEquals(2, profile.getDroppedSpans());
+	}
+
+}
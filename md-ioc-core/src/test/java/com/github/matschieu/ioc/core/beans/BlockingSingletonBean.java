@@ -0,0 +1,25 @@
+package com.github.matschieu.ioc.core.beans;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class BlockingSingletonBean {
+
+	public static final CountDownLatch STARTED = new CountDownLatch(1);
+
+	public static final CountDownLatch RELEASED = new CountDownLatch(1);
+
+	public BlockingSingletonBean() throws InterruptedException {
+		STARTED.countDown();
+		RELEASED.await(10, TimeUnit.SECONDS);
+	}
+
+}
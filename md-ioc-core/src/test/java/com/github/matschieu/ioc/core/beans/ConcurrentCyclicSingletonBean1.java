@@ -0,0 +1,33 @@
+package com.github.matschieu.ioc.core.beans;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class ConcurrentCyclicSingletonBean1 {
+
+	/** Both singletons are created at the same time, each one by its own thread */
+	public static final CyclicBarrier CREATING = new CyclicBarrier(2);
+
+	@Inject
+	private ConcurrentCyclicSingletonBean2 other;
+
+	public ConcurrentCyclicSingletonBean1() throws InterruptedException, BrokenBarrierException, TimeoutException {
+		CREATING.await(10, TimeUnit.SECONDS);
+	}
+
+	public ConcurrentCyclicSingletonBean2 getOther() {
+		return this.other;
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.github.matschieu.ioc.core.beans;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class ConcurrentCyclicSingletonBean2 {
+
+	@Inject
+	private ConcurrentCyclicSingletonBean1 other;
+
+	public ConcurrentCyclicSingletonBean2() throws InterruptedException, BrokenBarrierException, TimeoutException {
+		ConcurrentCyclicSingletonBean1.CREATING.await(10, TimeUnit.SECONDS);
+	}
+
+	public ConcurrentCyclicSingletonBean1 getOther() {
+		return this.other;
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ConstructorBean {
+
+	private final ReverseService reverseService;
+
+	private final ChangeCaseAndReverseService lowerService;
+
+	private final Provider<LazyBean> lazyBean;
+
+	@Inject
+	private SingletonBean singleton;
+
+	@Inject
+	public ConstructorBean(final ReverseService reverseService, @Named("ChangeCaseLowerAndReverseService") final ChangeCaseAndReverseService lowerService, final Provider<LazyBean> lazyBean) {
+		this.reverseService = reverseService;
+		this.lowerService = lowerService;
+		this.lazyBean = lazyBean;
+	}
+
+	public ReverseService getReverseService() {
+		return this.reverseService;
+	}
+
+	public ChangeCaseAndReverseService getLowerService() {
+		return this.lowerService;
+	}
+
+	public Provider<LazyBean> getLazyBean() {
+		return this.lazyBean;
+	}
+
+	public SingletonBean getSingleton() {
+		return this.singleton;
+	}
+
+}
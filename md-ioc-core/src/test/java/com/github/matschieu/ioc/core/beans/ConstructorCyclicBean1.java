@@ -0,0 +1,23 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ConstructorCyclicBean1 {
+
+	private final ConstructorCyclicBean2 other;
+
+	@Inject
+	public ConstructorCyclicBean1(final ConstructorCyclicBean2 other) {
+		this.other = other;
+	}
+
+	public ConstructorCyclicBean2 getOther() {
+		return this.other;
+	}
+
+}
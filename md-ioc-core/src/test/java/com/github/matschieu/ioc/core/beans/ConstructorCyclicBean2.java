@@ -0,0 +1,23 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ConstructorCyclicBean2 {
+
+	private final ConstructorCyclicBean1 other;
+
+	@Inject
+	public ConstructorCyclicBean2(final ConstructorCyclicBean1 other) {
+		this.other = other;
+	}
+
+	public ConstructorCyclicBean1 getOther() {
+		return this.other;
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.github.matschieu.ioc.core.beans;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class CountingSingletonBean {
+
+	public static final AtomicInteger POST_CONSTRUCTS = new AtomicInteger();
+
+	@Inject
+	private ReverseService reverseService;
+
+	@PostConstruct
+	public void postConstruct() {
+		POST_CONSTRUCTS.incrementAndGet();
+	}
+
+	public ReverseService getReverseService() {
+		return this.reverseService;
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class CyclicBean1 {
+
+	@Inject
+	private Provider<CyclicBean2> other;
+
+	public Provider<CyclicBean2> getOther() {
+		return this.other;
+	}
+
+}
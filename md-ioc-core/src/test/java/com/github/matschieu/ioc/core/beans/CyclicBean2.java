@@ -0,0 +1,19 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class CyclicBean2 {
+
+	@Inject
+	private CyclicBean1 other;
+
+	public CyclicBean1 getOther() {
+		return this.other;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class CyclicSingletonBean1 {
+
+	@Inject
+	private CyclicSingletonBean2 other;
+
+	public CyclicSingletonBean2 getOther() {
+		return this.other;
+	}
+
+}
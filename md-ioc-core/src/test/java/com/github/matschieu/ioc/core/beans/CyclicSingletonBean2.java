@@ -0,0 +1,21 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class CyclicSingletonBean2 {
+
+	@Inject
+	private CyclicSingletonBean1 other;
+
+	public CyclicSingletonBean1 getOther() {
+		return this.other;
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.github.matschieu.ioc.core.beans;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class LazyBean {
+
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	@Inject
+	private ReverseService reverseService;
+
+	public LazyBean() {
+		INSTANCES.incrementAndGet();
+	}
+
+	public ReverseService getReverseService() {
+		return this.reverseService;
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.github.matschieu.ioc.core.beans;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class ProviderClientBean {
+
+	@Inject
+	private Provider<LazyBean> lazyBean;
+
+	@Inject
+	@Named("ChangeCaseLowerAndReverseService")
+	private Provider<ChangeCaseAndReverseService> lowerService;
+
+	public Provider<LazyBean> getLazyBean() {
+		return this.lazyBean;
+	}
+
+	public Provider<ChangeCaseAndReverseService> getLowerService() {
+		return this.lowerService;
+	}
+
+}
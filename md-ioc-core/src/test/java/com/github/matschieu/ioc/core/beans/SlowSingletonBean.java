@@ -0,0 +1,22 @@
+package com.github.matschieu.ioc.core.beans;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class SlowSingletonBean {
+
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	public SlowSingletonBean() throws InterruptedException {
+		INSTANCES.incrementAndGet();
+		Thread.sleep(100);
+	}
+
+}
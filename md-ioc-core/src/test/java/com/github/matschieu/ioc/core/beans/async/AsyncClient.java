@@ -0,0 +1,34 @@
+package com.github.matschieu.ioc.core.beans.async;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class AsyncClient {
+
+	@Inject
+	private SlowDependency slowDependency;
+
+	@Inject
+	private OtherSlowDependency otherSlowDependency;
+
+	private volatile boolean ready;
+
+	@PostConstruct
+	public void init() {
+		this.ready = this.slowDependency.isReady() && this.otherSlowDependency.isReady();
+	}
+
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	public boolean isInitializedConcurrently() {
+		return this.slowDependency.isConcurrent() && this.otherSlowDependency.isConcurrent();
+	}
+
+}
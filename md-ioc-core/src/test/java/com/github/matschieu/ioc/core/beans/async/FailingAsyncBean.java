@@ -0,0 +1,17 @@
+package com.github.matschieu.ioc.core.beans.async;
+
+import javax.annotation.PostConstruct;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class FailingAsyncBean {
+
+	@PostConstruct
+	public void init() {
+		throw new IllegalStateException("Cannot initialize");
+	}
+
+}
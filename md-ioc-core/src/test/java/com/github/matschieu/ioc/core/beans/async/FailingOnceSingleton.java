@@ -0,0 +1,32 @@
+package com.github.matschieu.ioc.core.beans.async;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class FailingOnceSingleton {
+
+	public static final AtomicInteger ATTEMPTS = new AtomicInteger();
+
+	private volatile boolean ready;
+
+	@PostConstruct
+	public void init() {
+		if (ATTEMPTS.incrementAndGet() == 1) {
+			throw new IllegalStateException("Cannot initialize");
+		}
+		this.ready = true;
+	}
+
+	public boolean isReady() {
+		return this.ready;
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.github.matschieu.ioc.core.beans.async;
+
+import javax.annotation.PostConstruct;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class OtherSlowDependency {
+
+	private volatile boolean ready;
+
+	private volatile boolean concurrent;
+
+	@PostConstruct
+	public void init() throws InterruptedException {
+		this.concurrent = SlowDependency.awaitOthers();
+		this.ready = true;
+	}
+
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	public boolean isConcurrent() {
+		return this.concurrent;
+	}
+
+}
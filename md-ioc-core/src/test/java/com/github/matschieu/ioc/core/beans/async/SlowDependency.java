@@ -0,0 +1,63 @@
+package com.github.matschieu.ioc.core.beans.async;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class SlowDependency {
+
+	private static volatile CountDownLatch initializing = new CountDownLatch(2);
+
+	private volatile boolean ready;
+
+	private volatile boolean concurrent;
+
+	/**
+	 * Sets the number of post construct methods which must run at the same time
+	 *
+	 * @param parties
+	 */
+	public static void reset(final int parties) {
+		initializing = new CountDownLatch(parties);
+	}
+
+	/**
+	 * Counts the caller as one of the parties, without waiting
+	 */
+	public static void arrive() {
+		initializing.countDown();
+	}
+
+	/**
+	 * Waits for the other post construct methods
+	 *
+	 * @return boolean true if they all ran at the same time
+	 * @throws InterruptedException
+	 */
+	static boolean awaitOthers() throws InterruptedException {
+		final CountDownLatch latch = initializing;
+		latch.countDown();
+		return latch.await(5, TimeUnit.SECONDS);
+	}
+
+	@PostConstruct
+	public void init() throws InterruptedException {
+		this.concurrent = SlowDependency.awaitOthers();
+		this.ready = true;
+	}
+
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	public boolean isConcurrent() {
+		return this.concurrent;
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.github.matschieu.ioc.core.beans.bootstrap;
+
+import com.github.matschieu.ioc.core.Container;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public interface ContainerClient {
+
+	Container getContainer();
+
+}
@@ -0,0 +1,31 @@
+package com.github.matschieu.ioc.core.beans.bootstrap;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Singleton;
+
+import com.github.matschieu.ioc.core.Container;
+import com.github.matschieu.ioc.core.annotations.Startup;
+
+/**
+ * Gets the container when it starts, on a thread of the initialization executor
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+@Startup
+public class ContainerClientImpl implements ContainerClient {
+
+	private Container container;
+
+	@PostConstruct
+	public void init() {
+		this.container = Container.get();
+	}
+
+	@Override
+	public Container getContainer() {
+		return this.container;
+	}
+
+}
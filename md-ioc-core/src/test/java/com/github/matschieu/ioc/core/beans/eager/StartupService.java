@@ -0,0 +1,10 @@
+package com.github.matschieu.ioc.core.beans.eager;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public interface StartupService {
+
+}
@@ -0,0 +1,24 @@
+package com.github.matschieu.ioc.core.beans.eager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Singleton;
+
+import com.github.matschieu.ioc.core.annotations.Startup;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+@Startup
+public class StartupServiceImpl implements StartupService {
+
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	public StartupServiceImpl() {
+		INSTANCES.incrementAndGet();
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.github.matschieu.ioc.core.beans.failing;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public interface FailingService {
+
+}
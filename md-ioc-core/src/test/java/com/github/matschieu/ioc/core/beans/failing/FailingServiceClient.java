@@ -0,0 +1,30 @@
+package com.github.matschieu.ioc.core.beans.failing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class FailingServiceClient implements Runnable {
+
+	public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	@Inject
+	private FailingService service;
+
+	public FailingServiceClient() {
+		INSTANCES.incrementAndGet();
+	}
+
+	@Override
+	public void run() {
+		this.service.toString();
+	}
+
+}
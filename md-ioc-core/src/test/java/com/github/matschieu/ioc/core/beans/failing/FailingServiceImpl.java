@@ -0,0 +1,19 @@
+package com.github.matschieu.ioc.core.beans.failing;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class FailingServiceImpl implements FailingService {
+
+	@PostConstruct
+	public void postConstruct() {
+		throw new IllegalStateException("Cannot connect");
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.github.matschieu.ioc.core.beans.pooled;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+
+import com.github.matschieu.ioc.core.annotations.Pooled;
+import com.github.matschieu.ioc.core.annotations.Reset;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Pooled(max = 2)
+public class PooledBuffer {
+
+	public static final AtomicInteger POST_CONSTRUCTS = new AtomicInteger();
+
+	private StringBuilder buffer;
+
+	@PostConstruct
+	public void init() {
+		POST_CONSTRUCTS.incrementAndGet();
+		this.buffer = new StringBuilder(1024);
+	}
+
+	@Reset
+	public void reset() {
+		this.buffer.setLength(0);
+	}
+
+	public PooledBuffer append(final String s) {
+		this.buffer.append(s);
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return this.buffer.toString();
+	}
+
+}
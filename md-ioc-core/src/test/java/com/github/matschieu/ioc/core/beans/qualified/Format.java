@@ -0,0 +1,33 @@
+package com.github.matschieu.ioc.core.beans.qualified;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.enterprise.util.Nonbinding;
+import javax.inject.Qualifier;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD, ElementType.TYPE, ElementType.PARAMETER })
+public @interface Format {
+
+	/**
+	 *
+	 * @author Matschieu
+	 *
+	 */
+	enum Kind { JSON, XML }
+
+	Kind value();
+
+	@Nonbinding
+	String comment() default "";
+
+}
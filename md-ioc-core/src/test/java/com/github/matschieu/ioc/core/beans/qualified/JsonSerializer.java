@@ -0,0 +1,16 @@
+package com.github.matschieu.ioc.core.beans.qualified;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Format(Format.Kind.JSON)
+public class JsonSerializer implements Serializer {
+
+	@Override
+	public String getFormat() {
+		return "JSON";
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.github.matschieu.ioc.core.beans.qualified;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public interface Serializer {
+
+	String getFormat();
+
+}
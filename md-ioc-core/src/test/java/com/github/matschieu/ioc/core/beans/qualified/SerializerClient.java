@@ -0,0 +1,20 @@
+package com.github.matschieu.ioc.core.beans.qualified;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class SerializerClient {
+
+	@Inject
+	@Format(value = Format.Kind.XML, comment = "not part of the qualifier")
+	private Serializer serializer;
+
+	public Serializer getSerializer() {
+		return this.serializer;
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.github.matschieu.ioc.core.beans.scopes;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class RequestHandler {
+
+	@Inject
+	private RequestHelper requestHelper;
+
+	@Inject
+	private ThreadHelper threadHelper;
+
+	public RequestHelper getRequestHelper() {
+		return this.requestHelper;
+	}
+
+	public ThreadHelper getThreadHelper() {
+		return this.threadHelper;
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.github.matschieu.ioc.core.beans.scopes;
+
+import javax.enterprise.context.RequestScoped;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@RequestScoped
+public class RequestHelper {
+
+}
@@ -0,0 +1,22 @@
+package com.github.matschieu.ioc.core.beans.scopes;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class SingletonRequestClient {
+
+	@Inject
+	private Provider<RequestHelper> requestHelper;
+
+	public RequestHelper getRequestHelper() {
+		return this.requestHelper.get();
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.github.matschieu.ioc.core.beans.scopes;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A singleton keeping a request scoped bean through a bean it depends on
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+public class SingletonRequestHandler {
+
+	@Inject
+	private RequestHandler requestHandler;
+
+	public RequestHandler getRequestHandler() {
+		return this.requestHandler;
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.github.matschieu.ioc.core.beans.scopes;
+
+import com.github.matschieu.ioc.core.annotations.ThreadScoped;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@ThreadScoped
+public class ThreadHelper {
+
+}
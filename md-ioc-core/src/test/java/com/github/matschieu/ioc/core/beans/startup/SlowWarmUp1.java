@@ -0,0 +1,29 @@
+package com.github.matschieu.ioc.core.beans.startup;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+@Named("slow1")
+public class SlowWarmUp1 implements WarmUp {
+
+	private volatile boolean warm;
+
+	@PostConstruct
+	public void warmUp() throws InterruptedException {
+		Thread.sleep(DELAY);
+		this.warm = true;
+	}
+
+	@Override
+	public boolean isWarm() {
+		return this.warm;
+	}
+
+}
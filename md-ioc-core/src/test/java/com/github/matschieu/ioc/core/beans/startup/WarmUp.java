@@ -0,0 +1,14 @@
+package com.github.matschieu.ioc.core.beans.startup;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public interface WarmUp {
+
+	long DELAY = 300;
+
+	boolean isWarm();
+
+}
@@ -0,0 +1,41 @@
+package com.github.matschieu.ioc.core.beans.startup;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+@Singleton
+@Named("aggregator")
+public class WarmUpAggregator implements WarmUp {
+
+	@Inject
+	@Named("slow1")
+	private WarmUp warmUp1;
+
+	@Inject
+	@Named("slow2")
+	private WarmUp warmUp2;
+
+	@Inject
+	@Named("slow3")
+	private WarmUp warmUp3;
+
+	private volatile boolean warm;
+
+	@PostConstruct
+	public void warmUp() {
+		this.warm = this.warmUp1.isWarm() && this.warmUp2.isWarm() && this.warmUp3.isWarm();
+	}
+
+	@Override
+	public boolean isWarm() {
+		return this.warm;
+	}
+
+}
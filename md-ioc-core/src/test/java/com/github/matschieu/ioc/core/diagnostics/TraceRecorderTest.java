@@ -0,0 +1,62 @@
+package com.github.matschieu.ioc.core.diagnostics;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.matschieu.ioc.core.Container;
+import com.github.matschieu.ioc.core.ContainerConfiguration;
+import com.github.matschieu.ioc.core.beans.async.AsyncClient;
+import com.github.matschieu.ioc.core.beans.async.SlowDependency;
+import com.github.matschieu.ioc.core.diagnostics.TraceEvent.Kind;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class TraceRecorderTest {
+
+	@Test
+	public void testRingBuffer() {
+		final TraceRecorder recorder = new TraceRecorder(3);
+
+		Assert.assertEquals(4, recorder.getCapacity());
+		Assert.assertTrue(recorder.snapshot().isEmpty());
+
+		for (int i = 0; i < 6; i++) {
+			recorder.record(Kind.INSTANTIATION, String.class, null, i);
+		}
+
+		final List<TraceEvent> events = recorder.snapshot();
+
+		Assert.assertEquals(6, recorder.getRecorded());
+		Assert.assertEquals(List.of(2L, 3L, 4L, 5L), events.stream().map(TraceEvent::getSequence).collect(Collectors.toList()));
+		Assert.assertEquals(5, events.get(3).getDuration());
+		Assert.assertEquals(Thread.currentThread().getId(), events.get(0).getThreadId());
+	}
+
+	@Test
+	public void testInjectionEvents() throws Exception {
+		// The post construct methods run one after the other, they must not wait for each other
+		SlowDependency.reset(1);
+
+		final Container container = Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.async").traceCapacity(16).build());
+		container.getInjector().inject(AsyncClient.class);
+
+		final List<TraceEvent> events = container.getTraceRecorder().snapshot();
+
+		Assert.assertTrue(events.stream().anyMatch(e -> e.getKind() == Kind.RESOLUTION && e.getType() == AsyncClient.class && e.getImplementation() == AsyncClient.class));
+		Assert.assertTrue(events.stream().anyMatch(e -> e.getKind() == Kind.INSTANTIATION && e.getType() == SlowDependency.class));
+		Assert.assertTrue(events.stream().anyMatch(e -> e.getKind() == Kind.POST_CONSTRUCT && e.getType() == SlowDependency.class && e.getDuration() > 0));
+		Assert.assertTrue(container.getTraceRecorder().dump().contains(AsyncClient.class.getName()));
+	}
+
+	@Test
+	public void testDisabled() {
+		Assert.assertNull(Container.create(ContainerConfiguration.builder().basePackages("com.github.matschieu.ioc.core.beans.async").traceCapacity(0).build()).getTraceRecorder());
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.github.matschieu.ioc.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the bean index read by the container at startup so that the classpath does not have to be scanned.
+ * Each line of the index describes a class implementing at least one interface:
+ * <pre>implementation&lt;TAB&gt;interface1,interface2</pre>
+ * The qualifiers are not indexed: the container matches their members, which are read from the implementation class. The index only contains the classes of the output directory: on an incremental compilation, the entries of
+ * the existing index are kept for the classes which still exist and are not recompiled.
+ *
+ * @author Matschieu
+ *
+ */
+@SupportedAnnotationTypes("*")
+public class BeanIndexProcessor extends AbstractProcessor {
+
+	public static final String INDEX_LOCATION = "META-INF/md-ioc/beans.idx";
+
+	private static final String[] EXCLUDED_PACKAGES = { "sun.", "com.sun.", "jdk.", "java.", "javax." };
+
+	private final Map<String, String> entries = new TreeMap<>();
+
+	private boolean existingIndex;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public synchronized void init(final ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		this.readIndex();
+	}
+
+	/**
+	 * Reads the index written by a previous compilation in the output directory, if any
+	 */
+	private void readIndex() {
+		try {
+			final FileObject index = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+
+			try (BufferedReader reader = new BufferedReader(index.openReader(true))) {
+				this.existingIndex = true;
+				String line;
+
+				while ((line = reader.readLine()) != null) {
+					final String binaryName = line.split("\t")[0];
+
+					// The classes deleted since the previous compilation are dropped
+					if (!line.isBlank() && !line.startsWith("#") && this.processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.')) != null) {
+						this.entries.put(binaryName, line);
+					}
+				}
+			}
+		} catch (final IOException | IllegalArgumentException e) {
+			// No index yet
+		}
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			this.writeIndex();
+		} else {
+			roundEnv.getRootElements().forEach(e -> this.collect(e));
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @param element
+	 */
+	private void collect(final Element element) {
+		if (!(element instanceof TypeElement)) {
+			return;
+		}
+
+		final TypeElement type = (TypeElement)element;
+
+		if (type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.INTERFACE) {
+			final Set<String> interfaces = new LinkedHashSet<>();
+			this.collectInterfaces(type.asType(), interfaces);
+
+			final String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+			// The entry of a previous compilation is replaced, or removed if the class does not implement an interface anymore
+			this.entries.remove(binaryName);
+
+			if (!interfaces.isEmpty()) {
+				this.entries.put(binaryName, String.join("\t", binaryName, String.join(",", interfaces)));
+			}
+		}
+
+		type.getEnclosedElements().forEach(e -> this.collect(e));
+	}
+
+	/**
+	 *
+	 * @param type
+	 * @param interfaces
+	 */
+	private void collectInterfaces(final TypeMirror type, final Set<String> interfaces) {
+		for (final TypeMirror supertype : this.processingEnv.getTypeUtils().directSupertypes(type)) {
+			final Element element = this.processingEnv.getTypeUtils().asElement(supertype);
+
+			if (element instanceof TypeElement) {
+				if (element.getKind() == ElementKind.INTERFACE && !this.isExcludedPackage(element)) {
+					interfaces.add(this.processingEnv.getElementUtils().getBinaryName((TypeElement)element).toString());
+				}
+				this.collectInterfaces(supertype, interfaces);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @param element
+	 * @return boolean
+	 */
+	private boolean isExcludedPackage(final Element element) {
+		final String packageName = this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString() + ".";
+
+		for (final String excludedPackage : EXCLUDED_PACKAGES) {
+			if (packageName.startsWith(excludedPackage)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 *
+	 */
+	private void writeIndex() {
+		if (this.entries.isEmpty() && !this.existingIndex) {
+			return;
+		}
+
+		try {
+			final FileObject index = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+
+			try (Writer writer = index.openWriter()) {
+				writer.write("# md-ioc bean index\n");
+				for (final String entry : this.entries.values()) {
+					writer.write(entry);
+					writer.write('\n');
+				}
+			}
+		} catch (final IOException e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format("Cannot write bean index %s: %s", INDEX_LOCATION, e.getMessage()));
+		}
+	}
+
+}
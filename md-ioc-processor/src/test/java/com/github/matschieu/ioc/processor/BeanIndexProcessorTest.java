@@ -0,0 +1,113 @@
+package com.github.matschieu.ioc.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Matschieu
+ *
+ */
+public class BeanIndexProcessorTest {
+
+	/**
+	 *
+	 * @param name
+	 * @param code
+	 * @return JavaFileObject
+	 */
+	private static JavaFileObject source(final String name, final String code) {
+		return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+				return code;
+			}
+		};
+	}
+
+	/**
+	 *
+	 * @param sources
+	 * @return Path
+	 * @throws IOException
+	 */
+	private static Path compile(final JavaFileObject... sources) throws IOException {
+		return compile(Files.createTempDirectory("md-ioc-processor"), sources);
+	}
+
+	/**
+	 * Compiles the sources in an output directory which may hold the classes of a previous compilation
+	 *
+	 * @param output
+	 * @param sources
+	 * @return Path
+	 * @throws IOException
+	 */
+	private static Path compile(final Path output, final JavaFileObject... sources) throws IOException {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final List<String> options = Arrays.asList("-d", output.toString(), "-classpath", System.getProperty("java.class.path") + File.pathSeparator + output);
+		final JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, options, null, Arrays.asList(sources));
+
+		task.setProcessors(Arrays.asList(new BeanIndexProcessor()));
+		Assert.assertTrue(task.call());
+
+		return output;
+	}
+
+	@Test
+	public void testIndex() throws Exception {
+		final Path output = compile(
+				source("sample.Service", "package sample; public interface Service {}"),
+				source("sample.ExtendedService", "package sample; public interface ExtendedService extends Service, java.io.Serializable {}"),
+				source("sample.ServiceImpl", "package sample; @javax.inject.Named(\"impl\") @javax.inject.Singleton public class ServiceImpl implements ExtendedService { public static class Nested implements Service {} }"),
+				source("sample.NotABean", "package sample; public class NotABean implements Runnable { public void run() {} }"));
+
+		final List<String> lines = Files.readAllLines(output.resolve(BeanIndexProcessor.INDEX_LOCATION)).stream().filter(l -> !l.startsWith("#")).collect(Collectors.toList());
+
+		Assert.assertEquals(Arrays.asList(
+				"sample.ExtendedService\tsample.Service",
+				"sample.ServiceImpl\tsample.ExtendedService,sample.Service",
+				"sample.ServiceImpl$Nested\tsample.Service"), lines);
+	}
+
+	@Test
+	public void testNoIndex() throws Exception {
+		final Path output = compile(source("sample.NotABean", "package sample; public class NotABean {}"));
+
+		Assert.assertFalse(Files.exists(output.resolve(BeanIndexProcessor.INDEX_LOCATION)));
+	}
+
+	@Test
+	public void testIncrementalIndex() throws Exception {
+		final Path output = compile(
+				source("sample.Service", "package sample; public interface Service {}"),
+				source("sample.ServiceImpl", "package sample; public class ServiceImpl implements Service {}"),
+				source("sample.OldServiceImpl", "package sample; public class OldServiceImpl implements Service {}"));
+
+		// Only the modified classes are recompiled, OldServiceImpl does not implement Service anymore
+		compile(output,
+				source("sample.OtherServiceImpl", "package sample; public class OtherServiceImpl implements Service {}"),
+				source("sample.OldServiceImpl", "package sample; public class OldServiceImpl {}"));
+
+		final List<String> lines = Files.readAllLines(output.resolve(BeanIndexProcessor.INDEX_LOCATION)).stream().filter(l -> !l.startsWith("#")).collect(Collectors.toList());
+
+		Assert.assertEquals(Arrays.asList(
+				"sample.OtherServiceImpl\tsample.Service",
+				"sample.ServiceImpl\tsample.Service"), lines);
+	}
+
+}